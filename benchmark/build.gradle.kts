@@ -0,0 +1,47 @@
+plugins {
+    id("java")
+    id("me.champeau.jmh")
+}
+
+// Sources of the library that don't depend on views are compiled here against real framework classes of android-all,
+// so the benchmarks run on a plain JVM. Framework methods implemented natively, like Matrix or Color.colorToHSV,
+// throw UnsatisfiedLinkError there, so benchmarks must not reach them.
+sourceSets.getByName("main") {
+    java.setSrcDirs(listOf("$rootDir/library/java"))
+    java.include(
+        "ir/mahdiparastesh/hellocharts/animation/ChartAnimationListener.java",
+        "ir/mahdiparastesh/hellocharts/calculator/**",
+        "ir/mahdiparastesh/hellocharts/formatter/**",
+        "ir/mahdiparastesh/hellocharts/gesture/**",
+        "ir/mahdiparastesh/hellocharts/listener/**",
+        "ir/mahdiparastesh/hellocharts/model/**",
+        "ir/mahdiparastesh/hellocharts/renderer/AxesRenderer.java",
+        "ir/mahdiparastesh/hellocharts/renderer/ChartRenderer.java",
+        "ir/mahdiparastesh/hellocharts/renderer/LabelCache.java",
+        "ir/mahdiparastesh/hellocharts/util/**",
+        "ir/mahdiparastesh/hellocharts/view/Chart.java",
+    )
+    java.exclude(
+        "ir/mahdiparastesh/hellocharts/gesture/PieChartTouchHandler.java",
+        "ir/mahdiparastesh/hellocharts/model/PieChartData.java",
+    )
+}
+sourceSets.getByName("jmh") { java.setSrcDirs(listOf("java")) }
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_21
+    targetCompatibility = JavaVersion.VERSION_21
+}
+
+dependencies {
+    implementation("org.robolectric:android-all:15-robolectric-12650502")
+    implementation("androidx.annotation:annotation:1.8.2")
+}
+
+jmh {
+    jmhVersion.set("1.37")
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+    resultFormat.set("JSON")
+}
@@ -0,0 +1,87 @@
+package ir.mahdiparastesh.hellocharts.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import ir.mahdiparastesh.hellocharts.model.Column;
+import ir.mahdiparastesh.hellocharts.model.ColumnMatrix;
+import ir.mahdiparastesh.hellocharts.model.Line;
+import ir.mahdiparastesh.hellocharts.model.PointSeries;
+import ir.mahdiparastesh.hellocharts.model.SubColumnValue;
+import ir.mahdiparastesh.hellocharts.model.Viewport;
+
+/**
+ * Bounds of values used to calculate maximum viewport, every benchmark changes one value first so cached bounds are
+ * calculated again. Colors are never set, so Color.colorToHSV which is implemented natively is not called.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BoundsBenchmark {
+    private static final int SERIES_COUNT = 4;
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+    private float[] values;
+    private Line line;
+    private PointSeries series;
+    private Column column;
+    private ColumnMatrix matrix;
+    private int changedIndex;
+
+    @Setup
+    public void setUp() {
+        values = SyntheticData.values(size);
+        series = new PointSeries(size);
+        for (int i = 0; i < size; ++i) {
+            series.add(i, values[i]);
+        }
+        line = new Line(series);
+
+        final List<SubColumnValue> subColumnValues = new ArrayList<>(size);
+        for (float value : values) {
+            subColumnValues.add(new SubColumnValue(value));
+        }
+        column = new Column(subColumnValues);
+
+        matrix = new ColumnMatrix(size / SERIES_COUNT, SERIES_COUNT);
+        for (int i = 0; i < matrix.getColumnsCount() * SERIES_COUNT; ++i) {
+            matrix.setValue(i / SERIES_COUNT, i % SERIES_COUNT, values[i]);
+        }
+    }
+
+    @Benchmark
+    public Viewport lineBounds() {
+        nextChangedIndex();
+        series.set(changedIndex, changedIndex, values[size - 1 - changedIndex]);
+        return line.getValuesBounds();
+    }
+
+    @Benchmark
+    public float columnBounds() {
+        nextChangedIndex();
+        column.getValues().get(changedIndex).setValue(values[size - 1 - changedIndex]);
+        column.notifyValuesChanged();
+        return column.getValuesTop(0, true) + column.getValuesBottom(0, true);
+    }
+
+    @Benchmark
+    public float columnMatrixBounds() {
+        nextChangedIndex();
+        matrix.setValue(changedIndex / SERIES_COUNT, changedIndex % SERIES_COUNT, values[size - 1 - changedIndex]);
+        return matrix.getValuesTop(0, true) + matrix.getValuesBottom(0, true);
+    }
+
+    private void nextChangedIndex() {
+        changedIndex = (changedIndex + 1) % (size / SERIES_COUNT * SERIES_COUNT);
+    }
+}
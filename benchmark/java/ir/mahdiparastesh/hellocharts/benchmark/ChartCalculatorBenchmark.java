@@ -0,0 +1,99 @@
+package ir.mahdiparastesh.hellocharts.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+import ir.mahdiparastesh.hellocharts.calculator.ChartCalculator;
+
+/**
+ * Projection of values into pixels done by renderers for every visible value and viewport changes done for every
+ * scroll and zoom step. {@link ChartCalculator#computeRawMatrix} is not measured, Matrix is implemented natively.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ChartCalculatorBenchmark {
+    private static final int CHART_WIDTH = 1080;
+    private static final int CHART_HEIGHT = 720;
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+    private final ChartCalculator calculator = new ChartCalculator();
+    private float[] xValues;
+    private float[] points;
+    private float[] rawPoints;
+    private float[] ranges;
+
+    @Setup
+    public void setUp() {
+        final float[] yValues = SyntheticData.values(size);
+        xValues = new float[size];
+        points = new float[size * 2];
+        rawPoints = new float[size * 2];
+        for (int i = 0; i < size; ++i) {
+            xValues[i] = i;
+            points[i * 2] = i;
+            points[i * 2 + 1] = yValues[i];
+        }
+        // Ranges are horizontal ranges of scroll and zoom steps, maximum viewport contains all of them.
+        ranges = SyntheticData.ranges(Math.min(size, 100000));
+        calculator.setContentRect(CHART_WIDTH, CHART_HEIGHT, 0, 0, 0, 0);
+        calculator.setMaxZoom(Float.MAX_VALUE);
+        calculator.setMaxViewport(-1000, 1000, Math.max(size, 101000), -1000);
+        calculator.setCurrentViewport(0, 100, size, -100);
+    }
+
+    @Benchmark
+    public float computeRawX() {
+        float sum = 0;
+        for (float value : xValues) {
+            sum += calculator.computeRawX(value);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public float[] computeRawXBulk() {
+        calculator.computeRawX(xValues, 0, rawPoints, size);
+        return rawPoints;
+    }
+
+    @Benchmark
+    public float[] computeRawPoints() {
+        calculator.computeRawPoints(points, 0, rawPoints, size);
+        return rawPoints;
+    }
+
+    /**
+     * Zoom steps, every range becomes horizontal range of current viewport.
+     */
+    @Benchmark
+    public float constrainViewport() {
+        float sum = 0;
+        for (int i = 0; i < ranges.length; i += 2) {
+            calculator.constrainViewport(ranges[i], 100, ranges[i + 1], -100);
+            sum += calculator.getCurrentViewport().left;
+        }
+        return sum;
+    }
+
+    /**
+     * Scroll steps, current viewport keeps its size and moves to start of every range.
+     */
+    @Benchmark
+    public float setViewportTopLeft() {
+        float sum = 0;
+        for (int i = 0; i < ranges.length; i += 2) {
+            calculator.setViewportTopLeft(ranges[i], 100);
+            sum += calculator.getCurrentViewport().left;
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,58 @@
+package ir.mahdiparastesh.hellocharts.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+import ir.mahdiparastesh.hellocharts.util.AxisAutoValues;
+import ir.mahdiparastesh.hellocharts.util.FloatUtils;
+
+/**
+ * Formatting of value labels and generation of auto axis values, both run for every visible label on every frame.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FloatUtilsBenchmark {
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int size;
+    @Param({"0", "2"})
+    public int digits;
+    private float[] values;
+    private float[] ranges;
+    private final char[] formattedValue = new char[64];
+    private final AxisAutoValues axisValues = new AxisAutoValues();
+
+    @Setup
+    public void setUp() {
+        values = SyntheticData.values(size);
+        // Axis values are computed once per axis and frame, so fewer ranges are enough.
+        ranges = SyntheticData.ranges(Math.min(size, 100000));
+    }
+
+    @Benchmark
+    public int formatFloat() {
+        int charsNumber = 0;
+        for (float value : values) {
+            charsNumber += FloatUtils.formatFloat(formattedValue, value, formattedValue.length, digits, '.');
+        }
+        return charsNumber;
+    }
+
+    @Benchmark
+    public int computeAutoGeneratedAxisValues() {
+        int valuesNumber = 0;
+        for (int i = 0; i < ranges.length; i += 2) {
+            FloatUtils.computeAutoGeneratedAxisValues(ranges[i], ranges[i + 1], 8, axisValues);
+            valuesNumber += axisValues.valuesNumber;
+        }
+        return valuesNumber;
+    }
+}
@@ -0,0 +1,41 @@
+package ir.mahdiparastesh.hellocharts.benchmark;
+
+import java.util.Random;
+
+/**
+ * Seeded datasets shared by benchmarks, the same seed and size always give the same values so results of different
+ * runs can be compared.
+ */
+final class SyntheticData {
+    static final long SEED = 0x4845_4C4C_4FL;
+
+    private SyntheticData() {
+    }
+
+    /**
+     * Returns values spread over several orders of magnitude, both positive and negative.
+     */
+    static float[] values(int size) {
+        final Random random = new Random(SEED);
+        final float[] values = new float[size];
+        for (int i = 0; i < size; ++i) {
+            final float magnitude = (float) Math.pow(10, random.nextInt(7) - 2);
+            values[i] = (random.nextFloat() * 2 - 1) * magnitude;
+        }
+        return values;
+    }
+
+    /**
+     * Returns size pairs of start and stop values of visible axis ranges, stop is always bigger than start.
+     */
+    static float[] ranges(int size) {
+        final Random random = new Random(SEED);
+        final float[] ranges = new float[size * 2];
+        for (int i = 0; i < size; ++i) {
+            final float start = (random.nextFloat() * 2 - 1) * 1000;
+            ranges[i * 2] = start;
+            ranges[i * 2 + 1] = start + 0.01f + random.nextFloat() * (float) Math.pow(10, random.nextInt(6));
+        }
+        return ranges;
+    }
+}
@@ -0,0 +1,59 @@
+package ir.mahdiparastesh.hellocharts.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+import ir.mahdiparastesh.hellocharts.formatter.ValueFormatterHelper;
+
+/**
+ * Formatting done by the simple value formatters of all chart types, with and without prepended and appended text.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ValueFormatterHelperBenchmark {
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int size;
+    @Param({"false", "true"})
+    public boolean withText;
+    private float[] values;
+    private final char[] formattedValue = new char[64];
+    private final char[] label = "label".toCharArray();
+    private final ValueFormatterHelper helper = new ValueFormatterHelper();
+
+    @Setup
+    public void setUp() {
+        values = SyntheticData.values(size);
+        helper.determineDecimalSeparator();
+        if (withText) {
+            helper.setPrependedText("$ ".toCharArray());
+            helper.setAppendedText(" km".toCharArray());
+        }
+    }
+
+    @Benchmark
+    public int formatValue() {
+        int charsNumber = 0;
+        for (float value : values) {
+            charsNumber += helper.formatFloatValueWithPrependedAndAppendedText(formattedValue, value, 2);
+        }
+        return charsNumber;
+    }
+
+    @Benchmark
+    public int formatLabel() {
+        int charsNumber = 0;
+        for (float value : values) {
+            charsNumber += helper.formatFloatValueWithPrependedAndAppendedText(formattedValue, value, label);
+        }
+        return charsNumber;
+    }
+}
@@ -0,0 +1,83 @@
+package ir.mahdiparastesh.hellocharts.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+import ir.mahdiparastesh.hellocharts.model.Viewport;
+
+/**
+ * Viewport math used to merge bounds of lines and columns into maximum viewport and to check visibility of values.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ViewportBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+    private float[] values;
+    private float[] ranges;
+    private final Viewport viewport = new Viewport();
+    private final Viewport visibleViewport = new Viewport(-100, 1, 100, -1);
+
+    @Setup
+    public void setUp() {
+        values = SyntheticData.values(size);
+        ranges = SyntheticData.ranges(size);
+    }
+
+    /**
+     * Merges every range with Y range of matching value, the way bounds of data sets are merged.
+     */
+    @Benchmark
+    public Viewport union() {
+        viewport.setEmpty();
+        for (int i = 0; i < size; ++i) {
+            viewport.union(ranges[i * 2], Math.max(values[i], 0), ranges[i * 2 + 1], Math.min(values[i], 0));
+        }
+        return viewport;
+    }
+
+    @Benchmark
+    public int contains() {
+        int visibleCount = 0;
+        for (int i = 0; i < size; ++i) {
+            if (visibleViewport.contains(ranges[i * 2], values[i])) {
+                ++visibleCount;
+            }
+        }
+        return visibleCount;
+    }
+
+    @Benchmark
+    public int intersect() {
+        int intersectingCount = 0;
+        for (int i = 0; i < size; ++i) {
+            viewport.set(visibleViewport);
+            if (viewport.intersect(ranges[i * 2], Math.abs(values[i]), ranges[i * 2 + 1], -Math.abs(values[i]))) {
+                ++intersectingCount;
+            }
+        }
+        return intersectingCount;
+    }
+
+    /**
+     * Offsets and insets viewport the way scroll and zoom gestures change it.
+     */
+    @Benchmark
+    public Viewport offsetAndInset() {
+        viewport.set(visibleViewport);
+        for (int i = 0; i < size; ++i) {
+            viewport.offset(values[i] * 0.001f, 0);
+            viewport.inset(values[i] * 0.0001f, 0);
+        }
+        return viewport;
+    }
+}
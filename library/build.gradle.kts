@@ -10,6 +10,18 @@ android {
 
     defaultConfig { minSdk = project.properties["MIN_SDK_VERSION"].toString().toInt() }
     sourceSets.getByName("main") { java.setSrcDirs(listOf("java")) }
+    sourceSets.getByName("test") { java.setSrcDirs(listOf("test/java")) }
+
+    testOptions.unitTests {
+        isIncludeAndroidResources = true
+        all {
+            // Golden images are read from and recorded into the source tree, see GoldenImages.
+            it.systemProperty("hellocharts.goldensDir", file("test/goldens").absolutePath)
+            it.systemProperty("hellocharts.goldenFailuresDir", layout.buildDirectory.dir("goldens").get().asFile)
+            it.systemProperty("hellocharts.recordGoldens", project.findProperty("hellocharts.recordGoldens") ?: false)
+            it.testLogging.showStandardStreams = true
+        }
+    }
 
     compileOptions {
         sourceCompatibility = JavaVersion.VERSION_21
@@ -27,6 +39,9 @@ android {
 dependencies {
     implementation("androidx.core:core:1.13.1")
 
+    testImplementation("junit:junit:4.13.2")
+    testImplementation("org.robolectric:robolectric:4.14.1")
+
     implementation("org.jetbrains.kotlin:kotlin-stdlib-jdk7:2.0.20") {
         because("kotlin-stdlib-jdk7 is now a part of kotlin-stdlib")
     }
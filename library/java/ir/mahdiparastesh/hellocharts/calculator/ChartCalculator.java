@@ -1,5 +1,6 @@
 package ir.mahdiparastesh.hellocharts.calculator;
 
+import android.graphics.Matrix;
 import android.graphics.Point;
 import android.graphics.PointF;
 import android.graphics.Rect;
@@ -8,6 +9,11 @@ import ir.mahdiparastesh.hellocharts.listener.DummyViewportChangeListener;
 import ir.mahdiparastesh.hellocharts.listener.ViewportChangeListener;
 import ir.mahdiparastesh.hellocharts.model.Viewport;
 
+/**
+ * Translates chart values into raw pixel coordinates and keeps current and maximum viewport. Translating values and
+ * setting viewport don't allocate, results are written into objects given by the caller, only the
+ * {@link ViewportChangeListener} that is notified about viewport changes may.
+ */
 public class ChartCalculator {
 
     protected static final float DEFAULT_MAXIMUM_ZOOM = 20f;
@@ -32,6 +38,16 @@ public class ChartCalculator {
      * during animations.
      */
     protected ViewportChangeListener viewportChangeListener = new DummyViewportChangeListener();
+    /**
+     * Translation from chart values into raw pixel values for visible viewport and content rect, recalculated every
+     * time one of them changes so computeRawX/Y methods don't have to divide on every call.
+     */
+    protected float rawScaleX;
+    protected float rawScaleY;
+    protected float rawViewportLeft;
+    protected float rawViewportBottom;
+    protected float rawContentLeft;
+    protected float rawContentBottom;
 
     /**
      * Calculates available width and height. Should be called when chart dimensions change. ContentRect is relative to
@@ -44,11 +60,13 @@ public class ChartCalculator {
         maxContentRect.set(paddingLeft, paddingTop, width - paddingRight, height - paddingBottom);
         contentRectMinusAxesMargins.set(maxContentRect);
         contentRectMinusAllMargins.set(maxContentRect);
+        computeRawTransform();
     }
 
     public void resetContentRect() {
         contentRectMinusAxesMargins.set(maxContentRect);
         contentRectMinusAllMargins.set(maxContentRect);
+        computeRawTransform();
     }
 
     public void insetContentRect(int deltaLeft, int deltaTop, int deltaRight, int deltaBottom) {
@@ -65,6 +83,7 @@ public class ChartCalculator {
         contentRectMinusAllMargins.top = contentRectMinusAllMargins.top + deltaTop;
         contentRectMinusAllMargins.right = contentRectMinusAllMargins.right - deltaRight;
         contentRectMinusAllMargins.bottom = contentRectMinusAllMargins.bottom - deltaBottom;
+        computeRawTransform();
     }
 
     /**
@@ -100,6 +119,7 @@ public class ChartCalculator {
         currentViewport.top = Math.min(maxViewport.top, top);
         currentViewport.right = Math.min(maxViewport.right, right);
         currentViewport.bottom = Math.max(maxViewport.bottom, bottom);
+        computeRawTransform();
 
         viewportChangeListener.onViewportChanged(currentViewport);
     }
@@ -129,11 +149,7 @@ public class ChartCalculator {
      * 0 that means left most pixel of the screen.
      */
     public float computeRawX(float valueX) {
-        // TODO: (contentRectMinusAllMargins.width() / currentViewport.width()) can be recalculated only when viewport
-        // change.
-        final float pixelOffset = (valueX - currentViewport.left) * (contentRectMinusAllMargins.width() /
-                currentViewport.width());
-        return contentRectMinusAllMargins.left + pixelOffset;
+        return rawContentLeft + (valueX - rawViewportLeft) * rawScaleX;
     }
 
     /**
@@ -142,9 +158,59 @@ public class ChartCalculator {
      * 0 that means top most pixel of the screen.
      */
     public float computeRawY(float valueY) {
-        final float pixelOffset = (valueY - currentViewport.bottom) * (contentRectMinusAllMargins.height() /
-                currentViewport.height());
-        return contentRectMinusAllMargins.bottom - pixelOffset;
+        return rawContentBottom - (valueY - rawViewportBottom) * rawScaleY;
+    }
+
+    /**
+     * Translates count chart values from src starting at index from into raw pixel X coordinates stored in dst
+     * starting at index 0. Src and dst can be the same array.
+     */
+    public void computeRawX(float[] src, int from, float[] dst, int count) {
+        final float contentLeft = rawContentLeft;
+        final float viewportLeft = rawViewportLeft;
+        final float scale = rawScaleX;
+        for (int i = 0; i < count; ++i) {
+            dst[i] = contentLeft + (src[from + i] - viewportLeft) * scale;
+        }
+    }
+
+    /**
+     * Translates count chart values from src starting at index from into raw pixel Y coordinates stored in dst
+     * starting at index 0. Src and dst can be the same array.
+     */
+    public void computeRawY(float[] src, int from, float[] dst, int count) {
+        final float contentBottom = rawContentBottom;
+        final float viewportBottom = rawViewportBottom;
+        final float scale = rawScaleY;
+        for (int i = 0; i < count; ++i) {
+            dst[i] = contentBottom - (src[from + i] - viewportBottom) * scale;
+        }
+    }
+
+    /**
+     * Translates count points stored in src as x and y pairs starting at index from into raw pixel coordinates
+     * stored in dst the same way starting at index 0. Src and dst can be the same array.
+     */
+    public void computeRawPoints(float[] src, int from, float[] dst, int count) {
+        final float contentLeft = rawContentLeft;
+        final float contentBottom = rawContentBottom;
+        final float viewportLeft = rawViewportLeft;
+        final float viewportBottom = rawViewportBottom;
+        final float scaleX = rawScaleX;
+        final float scaleY = rawScaleY;
+        for (int i = 0; i < count * 2; i += 2) {
+            dst[i] = contentLeft + (src[from + i] - viewportLeft) * scaleX;
+            dst[i + 1] = contentBottom - (src[from + i + 1] - viewportBottom) * scaleY;
+        }
+    }
+
+    /**
+     * Sets given matrix to translate chart values relative to (originX, originY) into raw pixel values for visible
+     * viewport, so value (originX + x, originY + y) is mapped to the same point as by computeRawX/Y methods.
+     */
+    public void computeRawMatrix(float originX, float originY, Matrix matrix) {
+        matrix.setScale(rawScaleX, -rawScaleY);
+        matrix.postTranslate(computeRawX(originX), computeRawY(originY));
     }
 
     /**
@@ -260,6 +326,7 @@ public class ChartCalculator {
     public void setMaxViewport(float left, float top, float right, float bottom) {
         this.maxViewport.set(left, top, right, bottom);
         computeMinimumWidthAndHeight();
+        computeRawTransform();
     }
 
     /**
@@ -317,6 +384,20 @@ public class ChartCalculator {
 
     }
 
+    /**
+     * Recalculates translation used by computeRawX/Y methods, has to be called every time content rect or visible
+     * viewport changes.
+     */
+    protected void computeRawTransform() {
+        final Viewport visibleViewport = getVisibleViewport();
+        rawScaleX = contentRectMinusAllMargins.width() / visibleViewport.width();
+        rawScaleY = contentRectMinusAllMargins.height() / visibleViewport.height();
+        rawViewportLeft = visibleViewport.left;
+        rawViewportBottom = visibleViewport.bottom;
+        rawContentLeft = contentRectMinusAllMargins.left;
+        rawContentBottom = contentRectMinusAllMargins.bottom;
+    }
+
     private void computeMinimumWidthAndHeight() {
         minViewportWidth = this.maxViewport.width() / maxZoom;
         minViewportHeight = this.maxViewport.height() / maxZoom;
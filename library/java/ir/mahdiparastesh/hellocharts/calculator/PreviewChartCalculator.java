@@ -4,18 +4,6 @@ import ir.mahdiparastesh.hellocharts.model.Viewport;
 
 public class PreviewChartCalculator extends ChartCalculator {
 
-    public float computeRawX(float valueX) {
-        final float pixelOffset = (valueX - maxViewport.left) * (contentRectMinusAllMargins.width() / maxViewport
-                .width());
-        return contentRectMinusAllMargins.left + pixelOffset;
-    }
-
-    public float computeRawY(float valueY) {
-        final float pixelOffset = (valueY - maxViewport.bottom) * (contentRectMinusAllMargins.height() / maxViewport
-                .height());
-        return contentRectMinusAllMargins.bottom - pixelOffset;
-    }
-
     public Viewport getVisibleViewport() {
         return maxViewport;
     }
@@ -12,6 +12,10 @@ import ir.mahdiparastesh.hellocharts.model.SelectedValue;
 import ir.mahdiparastesh.hellocharts.renderer.ChartRenderer;
 import ir.mahdiparastesh.hellocharts.view.Chart;
 
+/**
+ * Handles scroll, zoom and value touches of a chart. Scroll and zoom results are passed through objects reused for
+ * every event and applying them to the viewport doesn't allocate, only gesture detectors of the framework may.
+ */
 public class ChartTouchHandler {
     protected GestureDetector gestureDetector;
     protected ScaleGestureDetector scaleGestureDetector;
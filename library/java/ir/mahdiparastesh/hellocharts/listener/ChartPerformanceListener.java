@@ -0,0 +1,21 @@
+package ir.mahdiparastesh.hellocharts.listener;
+
+/**
+ * Receives durations of chart phases when performance monitoring is enabled with
+ * {@link ir.mahdiparastesh.hellocharts.view.AbstractChartView#setPerformanceMonitoringEnabled(boolean)}.
+ * Called on the thread that ran the phase, usually the main thread, so it should return quickly and not allocate.
+ */
+public interface ChartPerformanceListener {
+    int PHASE_AXES_BACKGROUND = 0;
+    int PHASE_DRAW = 1;
+    int PHASE_DRAW_UNCLIPPED = 2;
+    int PHASE_AXES_FOREGROUND = 3;
+    int PHASE_TOUCH = 4;
+    int PHASE_DATA_CHANGE = 5;
+    int PHASES_COUNT = 6;
+
+    /**
+     * Called after phase finished, phase is one of PHASE_* constants.
+     */
+    void onPhaseMeasured(int phase, long durationNanos);
+}
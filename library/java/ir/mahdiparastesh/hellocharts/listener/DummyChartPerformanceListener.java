@@ -0,0 +1,9 @@
+package ir.mahdiparastesh.hellocharts.listener;
+
+public class DummyChartPerformanceListener implements ChartPerformanceListener {
+
+    @Override
+    public void onPhaseMeasured(int phase, long durationNanos) {
+        // Do nothing
+    }
+}
@@ -20,6 +20,20 @@ public class BubbleChartData extends AbstractChartData {
     private float bubbleScale = DEFAULT_BUBBLE_SCALE;
     // TODO: consider Collections.emptyList()
     private List<BubbleValue> values = new ArrayList<>();
+    /**
+     * Cached bounds of values and maximal absolute Z, see {@link #getValuesBounds()}.
+     */
+    private final Viewport bounds = new Viewport();
+    private float maxAbsZ;
+    private boolean isBoundsValid = false;
+    /**
+     * Bounds of values at the start and at the end of current data animation.
+     */
+    private final Viewport animationStartBounds = new Viewport();
+    private final Viewport animationTargetBounds = new Viewport();
+    private float animationStartMaxAbsZ;
+    private float animationTargetMaxAbsZ;
+    private boolean isAnimationBoundsValid = false;
 
     public BubbleChartData() {
     }
@@ -59,9 +73,20 @@ public class BubbleChartData extends AbstractChartData {
 
     @Override
     public void update(float scale) {
+        if (!isAnimationBoundsValid) {
+            calculateAnimationBounds();
+        }
         for (BubbleValue value : values) {
             value.update(scale);
         }
+        // Every value is between its start and target value so it is also within interpolated bounds.
+        bounds.set(
+                animationStartBounds.left + (animationTargetBounds.left - animationStartBounds.left) * scale,
+                animationStartBounds.top + (animationTargetBounds.top - animationStartBounds.top) * scale,
+                animationStartBounds.right + (animationTargetBounds.right - animationStartBounds.right) * scale,
+                animationStartBounds.bottom + (animationTargetBounds.bottom - animationStartBounds.bottom) * scale);
+        maxAbsZ = animationStartMaxAbsZ + (animationTargetMaxAbsZ - animationStartMaxAbsZ) * scale;
+        isBoundsValid = true;
     }
 
     @Override
@@ -69,6 +94,66 @@ public class BubbleChartData extends AbstractChartData {
         for (BubbleValue value : values) {
             value.finish();
         }
+        isBoundsValid = isAnimationBoundsValid;
+        if (isAnimationBoundsValid) {
+            bounds.set(animationTargetBounds);
+            maxAbsZ = animationTargetMaxAbsZ;
+        }
+        isAnimationBoundsValid = false;
+    }
+
+    /**
+     * Invalidates bounds cached for values, call it after modifying {@link BubbleValue} objects in place. Renderer
+     * calls it when chart data is set.
+     */
+    public void notifyValuesChanged() {
+        isBoundsValid = false;
+        isAnimationBoundsValid = false;
+    }
+
+    /**
+     * Returns bounds of bubble centers, left and right are minimal and maximal X, bottom and top are minimal and
+     * maximal Y. Bounds are cached until values change, during data animation they are interpolated from bounds of
+     * start and target values. Returned viewport must not be modified.
+     */
+    public Viewport getValuesBounds() {
+        calculateBounds();
+        return bounds;
+    }
+
+    /**
+     * Returns maximal absolute Z value, cached the same way as {@link #getValuesBounds()}.
+     */
+    public float getValuesMaxAbsZ() {
+        calculateBounds();
+        return maxAbsZ;
+    }
+
+    private void calculateBounds() {
+        if (isBoundsValid) {
+            return;
+        }
+        Line.setEmptyBounds(bounds);
+        maxAbsZ = 0;
+        for (BubbleValue value : values) {
+            Line.includeInBounds(bounds, value.getX(), value.getY());
+            maxAbsZ = Math.max(maxAbsZ, Math.abs(value.getZ()));
+        }
+        isBoundsValid = true;
+    }
+
+    private void calculateAnimationBounds() {
+        Line.setEmptyBounds(animationStartBounds);
+        Line.setEmptyBounds(animationTargetBounds);
+        animationStartMaxAbsZ = 0;
+        animationTargetMaxAbsZ = 0;
+        for (BubbleValue value : values) {
+            Line.includeInBounds(animationStartBounds, value.getOriginX(), value.getOriginY());
+            Line.includeInBounds(animationTargetBounds, value.getTargetX(), value.getTargetY());
+            animationStartMaxAbsZ = Math.max(animationStartMaxAbsZ, Math.abs(value.getOriginZ()));
+            animationTargetMaxAbsZ = Math.max(animationTargetMaxAbsZ, Math.abs(value.getTargetZ()));
+        }
+        isAnimationBoundsValid = true;
     }
 
     public List<BubbleValue> getValues() {
@@ -76,6 +161,7 @@ public class BubbleChartData extends AbstractChartData {
     }
 
     public BubbleChartData setValues(List<BubbleValue> values) {
+        notifyValuesChanged();
         if (null == values) {
             this.values = new ArrayList<>();
         } else {
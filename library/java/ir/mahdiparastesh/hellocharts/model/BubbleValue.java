@@ -111,6 +111,36 @@ public class BubbleValue {
         return this;
     }
 
+    /**
+     * Returns X value from which current animation started, the same as {@link #getX()} if there is no animation.
+     */
+    float getOriginX() {
+        return originX;
+    }
+
+    float getOriginY() {
+        return originY;
+    }
+
+    float getOriginZ() {
+        return originZ;
+    }
+
+    /**
+     * Returns X value that will be reached when current animation finishes.
+     */
+    float getTargetX() {
+        return originX + diffX;
+    }
+
+    float getTargetY() {
+        return originY + diffY;
+    }
+
+    float getTargetZ() {
+        return originZ + diffZ;
+    }
+
     public float getX() {
         return this.x;
     }
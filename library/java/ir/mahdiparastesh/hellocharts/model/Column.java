@@ -8,11 +8,52 @@ import ir.mahdiparastesh.hellocharts.formatter.SimpleColumnChartValueFormatter;
 import ir.mahdiparastesh.hellocharts.view.Chart;
 
 public class Column {
+    private static final int VALUES_CURRENT = 0;
+    private static final int VALUES_ORIGIN = 1;
+    private static final int VALUES_TARGET = 2;
+    private static final int BOUND_MAX_ABOVE = 0;
+    private static final int BOUND_MIN_BELOW = 1;
+    private static final int BOUND_SUM_ABOVE = 2;
+    private static final int BOUND_SUM_BELOW = 3;
+    private static final int BOUNDS_SIZE = 4;
     private boolean hasLabels = false;
     private boolean hasLabelsOnlyForSelected = false;
     private ColumnChartValueFormatter formatter = new SimpleColumnChartValueFormatter();
     // TODO: consider Collections.emptyList()
     private List<SubColumnValue> values = new ArrayList<>();
+    /**
+     * Cached bounds of values for {@link #boundsBaseValue}, see {@link #getValuesTop(float, boolean)}.
+     */
+    private final float[] bounds = new float[BOUNDS_SIZE];
+    private float boundsBaseValue;
+    private boolean isBoundsValid = false;
+    /**
+     * Bounds of values at the start and at the end of current data animation.
+     */
+    private final float[] animationStartBounds = new float[BOUNDS_SIZE];
+    private final float[] animationTargetBounds = new float[BOUNDS_SIZE];
+    private float animationBoundsBaseValue;
+    private boolean isAnimationBoundsValid = false;
+    private boolean isAnimating = false;
+    private float animationScale;
+    /**
+     * Stacked layout of values for {@link #stackBaseValue}: value at which every sub-column starts and, for the
+     * positive and the negative stack, indexes of their values and prefix sums where their segments end.
+     */
+    private float[] stackBottoms = new float[0];
+    private int[] positiveStackIndexes = new int[0];
+    private float[] positiveStackEnds = new float[0];
+    private int positiveStackSize;
+    private int[] negativeStackIndexes = new int[0];
+    private float[] negativeStackEnds = new float[0];
+    private int negativeStackSize;
+    /**
+     * True if prefix sums of both stacks grow away from base value, so they can be searched with binary search.
+     */
+    private boolean isStackMonotonic;
+    private float stackBaseValue;
+    private int stackSize;
+    private boolean isStackValid = false;
 
     public Column() {
     }
@@ -35,13 +76,193 @@ public class Column {
         for (SubColumnValue value : values) {
             value.update(scale);
         }
-
+        isAnimating = true;
+        animationScale = scale;
+        isBoundsValid = false;
+        isStackValid = false;
     }
 
     public void finish() {
         for (SubColumnValue value : values) {
             value.finish();
         }
+        isAnimating = false;
+        isStackValid = false;
+        isBoundsValid = isAnimationBoundsValid;
+        if (isAnimationBoundsValid) {
+            System.arraycopy(animationTargetBounds, 0, bounds, 0, BOUNDS_SIZE);
+            boundsBaseValue = animationBoundsBaseValue;
+        }
+        isAnimationBoundsValid = false;
+    }
+
+    /**
+     * Invalidates bounds cached for values of this column, call it after modifying {@link SubColumnValue} objects of
+     * this column in place. Renderers call it for every column when chart data is set.
+     */
+    public void notifyValuesChanged() {
+        isBoundsValid = false;
+        isAnimationBoundsValid = false;
+        isStackValid = false;
+    }
+
+    /**
+     * Returns the biggest value not smaller than baseValue or baseValue itself if there is no such value. If isStacked
+     * is true returns baseValue plus sum of all values not smaller than baseValue. Result is cached until values
+     * change, during data animation it is interpolated from results for start and target values.
+     */
+    public float getValuesTop(float baseValue, boolean isStacked) {
+        calculateBounds(baseValue);
+        return isStacked ? bounds[BOUND_SUM_ABOVE] : bounds[BOUND_MAX_ABOVE];
+    }
+
+    /**
+     * Returns the smallest value smaller than baseValue or baseValue itself if there is no such value. If isStacked
+     * is true returns baseValue plus sum of all values smaller than baseValue.
+     *
+     * @see #getValuesTop(float, boolean)
+     */
+    public float getValuesBottom(float baseValue, boolean isStacked) {
+        calculateBounds(baseValue);
+        return isStacked ? bounds[BOUND_SUM_BELOW] : bounds[BOUND_MIN_BELOW];
+    }
+
+    private void calculateBounds(float baseValue) {
+        if (isAnimating) {
+            if (!isAnimationBoundsValid || animationBoundsBaseValue != baseValue) {
+                calculateBounds(animationStartBounds, baseValue, VALUES_ORIGIN);
+                calculateBounds(animationTargetBounds, baseValue, VALUES_TARGET);
+                animationBoundsBaseValue = baseValue;
+                isAnimationBoundsValid = true;
+            }
+            for (int i = 0; i < BOUNDS_SIZE; ++i) {
+                bounds[i] = animationStartBounds[i]
+                        + (animationTargetBounds[i] - animationStartBounds[i]) * animationScale;
+            }
+        } else if (!isBoundsValid || boundsBaseValue != baseValue) {
+            calculateBounds(bounds, baseValue, VALUES_CURRENT);
+            boundsBaseValue = baseValue;
+            isBoundsValid = true;
+        }
+    }
+
+    private void calculateBounds(float[] bounds, float baseValue, int valuesType) {
+        bounds[BOUND_MAX_ABOVE] = baseValue;
+        bounds[BOUND_MIN_BELOW] = baseValue;
+        bounds[BOUND_SUM_ABOVE] = baseValue;
+        bounds[BOUND_SUM_BELOW] = baseValue;
+        for (SubColumnValue columnValue : values) {
+            final float value;
+            if (VALUES_ORIGIN == valuesType) {
+                value = columnValue.getOriginValue();
+            } else if (VALUES_TARGET == valuesType) {
+                value = columnValue.getTargetValue();
+            } else {
+                value = columnValue.getValue();
+            }
+            if (value >= baseValue) {
+                bounds[BOUND_SUM_ABOVE] += value;
+                if (value > bounds[BOUND_MAX_ABOVE]) {
+                    bounds[BOUND_MAX_ABOVE] = value;
+                }
+            } else {
+                bounds[BOUND_SUM_BELOW] += value;
+                if (value < bounds[BOUND_MIN_BELOW]) {
+                    bounds[BOUND_MIN_BELOW] = value;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns value at which sub-column with given index starts when values are stacked, it ends at that value plus
+     * value of the sub-column. Values not smaller than baseValue are stacked above baseValue, others below it. Stacked
+     * layout is cached until values change, during data animation it is calculated once per animation frame.
+     */
+    public float getStackedValueBottom(float baseValue, int valueIndex) {
+        calculateStack(baseValue);
+        return stackBottoms[valueIndex];
+    }
+
+    /**
+     * Returns index of sub-column whose stacked segment contains given value or -1 if there is no such sub-column.
+     * Uses binary search over prefix sums of the stack on the side of y unless stack has values that make it go back
+     * toward baseValue. If segments share the end both can contain y, then either of them is returned.
+     *
+     * @see #getStackedValueBottom(float, int)
+     */
+    public int findStackedValue(float baseValue, float y) {
+        calculateStack(baseValue);
+        if (!isStackMonotonic) {
+            int found = -1;
+            for (int i = 0; i < values.size(); ++i) {
+                final float bottom = stackBottoms[i];
+                final float top = bottom + values.get(i).getValue();
+                if (y >= Math.min(bottom, top) && y <= Math.max(bottom, top)) {
+                    found = i;
+                }
+            }
+            return found;
+        }
+        final boolean isPositive = y >= baseValue;
+        final float[] ends = isPositive ? positiveStackEnds : negativeStackEnds;
+        final int size = isPositive ? positiveStackSize : negativeStackSize;
+        // First segment whose end is at or beyond y.
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (isPositive ? ends[middle] < y : ends[middle] > y) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        if (low == size) {
+            return -1;
+        }
+        return isPositive ? positiveStackIndexes[low] : negativeStackIndexes[low];
+    }
+
+    private void calculateStack(float baseValue) {
+        final int size = values.size();
+        // Size is checked too, so values added to the list without notification don't break drawing.
+        if (isStackValid && stackBaseValue == baseValue && stackSize == size) {
+            return;
+        }
+        if (stackBottoms.length < size) {
+            stackBottoms = new float[size];
+            positiveStackIndexes = new int[size];
+            positiveStackEnds = new float[size];
+            negativeStackIndexes = new int[size];
+            negativeStackEnds = new float[size];
+        }
+        positiveStackSize = 0;
+        negativeStackSize = 0;
+        isStackMonotonic = true;
+        float mostPositiveValue = baseValue;
+        float mostNegativeValue = baseValue;
+        for (int i = 0; i < size; ++i) {
+            final float value = values.get(i).getValue();
+            if (value >= baseValue) {
+                stackBottoms[i] = mostPositiveValue;
+                mostPositiveValue += value;
+                positiveStackIndexes[positiveStackSize] = i;
+                positiveStackEnds[positiveStackSize] = mostPositiveValue;
+                ++positiveStackSize;
+                isStackMonotonic &= value >= 0;
+            } else {
+                stackBottoms[i] = mostNegativeValue;
+                mostNegativeValue += value;
+                negativeStackIndexes[negativeStackSize] = i;
+                negativeStackEnds[negativeStackSize] = mostNegativeValue;
+                ++negativeStackSize;
+                isStackMonotonic &= value <= 0;
+            }
+        }
+        stackBaseValue = baseValue;
+        stackSize = size;
+        isStackValid = true;
     }
 
     public List<SubColumnValue> getValues() {
@@ -49,6 +270,7 @@ public class Column {
     }
 
     public Column setValues(List<SubColumnValue> values) {
+        notifyValuesChanged();
         if (null == values) {
             this.values = new ArrayList<>();
         } else {
@@ -15,6 +15,7 @@ public class ColumnChartData extends AbstractChartData {
     private float fillRatio = DEFAULT_FILL_RATIO;
     private float baseValue = DEFAULT_BASE_VALUE;
     private List<Column> columns = new ArrayList<>();
+    private ColumnMatrix matrix;
     private boolean isStacked = false;
 
     public ColumnChartData() {
@@ -32,7 +33,8 @@ public class ColumnChartData extends AbstractChartData {
         this.isStacked = data.isStacked;
         this.fillRatio = data.fillRatio;
 
-        for (Column column : data.columns) this.columns.add(new Column(column));
+        if (null != data.matrix) this.matrix = new ColumnMatrix(data.matrix);
+        else for (Column column : data.columns) this.columns.add(new Column(column));
     }
 
     public static ColumnChartData generateDummyData() {
@@ -54,19 +56,29 @@ public class ColumnChartData extends AbstractChartData {
 
     @Override
     public void update(float scale) {
-        for (Column column : columns) column.update(scale);
+        if (null != matrix) matrix.update(scale);
+        else for (Column column : columns) column.update(scale);
     }
 
     @Override
     public void finish() {
-        for (Column column : columns) column.finish();
+        if (null != matrix) matrix.finish();
+        else for (Column column : columns) column.finish();
     }
 
+    /**
+     * Returns columns of this chart. If chart uses {@link ColumnMatrix} returned list is a view created by
+     * {@link ColumnMatrix#asColumns()}.
+     */
     public List<Column> getColumns() {
+        if (null != matrix) {
+            return matrix.asColumns();
+        }
         return columns;
     }
 
     public ColumnChartData setColumns(List<Column> columns) {
+        this.matrix = null;
         if (null == columns) {
             this.columns = new ArrayList<>();
         } else {
@@ -75,6 +87,22 @@ public class ColumnChartData extends AbstractChartData {
         return this;
     }
 
+    public ColumnMatrix getMatrix() {
+        return matrix;
+    }
+
+    /**
+     * Uses given matrix instead of list of columns, recommended for charts with many columns. Renderers read values
+     * directly from matrix, {@link #getColumns()} returns its view. Set null to use list of columns again.
+     */
+    public ColumnChartData setMatrix(ColumnMatrix matrix) {
+        this.matrix = matrix;
+        if (null != matrix) {
+            this.columns = new ArrayList<>();
+        }
+        return this;
+    }
+
     public boolean isStacked() {
         return isStacked;
     }
@@ -0,0 +1,361 @@
+package ir.mahdiparastesh.hellocharts.model;
+
+import androidx.annotation.NonNull;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+import ir.mahdiparastesh.hellocharts.formatter.ColumnChartValueFormatter;
+import ir.mahdiparastesh.hellocharts.formatter.SimpleColumnChartValueFormatter;
+import ir.mahdiparastesh.hellocharts.util.ChartUtils;
+import ir.mahdiparastesh.hellocharts.view.Chart;
+
+/**
+ * Primitive storage for values of a column chart with the same number of sub-columns(series) in every column. Values
+ * are kept in one float array instead of {@link Column} and {@link SubColumnValue} objects, colors are set per series
+ * and animation targets and labels are kept in side arrays that are allocated only when
+ * {@link #setTarget(int, int, float)} or {@link #setLabel(int, int, char[])} is used for the first time.
+ * Use it with {@link ColumnChartData#setMatrix(ColumnMatrix)} for charts with many columns.
+ */
+public class ColumnMatrix {
+    private final int columnsCount;
+    private final int seriesCount;
+    private final float[] values;
+    private float[] originValues;
+    private float[] diffValues;
+    private char[][] labels;
+    private final int[] seriesColors;
+    private final int[] seriesDarkenColors;
+    private boolean hasLabels = false;
+    private boolean hasLabelsOnlyForSelected = false;
+    private ColumnChartValueFormatter formatter = new SimpleColumnChartValueFormatter();
+    private int modificationCount;
+    /**
+     * Extents of all columns cached for {@link #boundsBaseValue} and {@link #boundsModificationCount}.
+     */
+    private float boundsTop;
+    private float boundsBottom;
+    private float boundsBaseValue;
+    private boolean isBoundsStacked;
+    private int boundsModificationCount = -1;
+    private List<Column> columnsAdapter;
+
+    public ColumnMatrix(int columnsCount, int seriesCount) {
+        if (columnsCount < 0 || seriesCount < 0) {
+            throw new IllegalArgumentException("Columns and series count can't be negative");
+        }
+        this.columnsCount = columnsCount;
+        this.seriesCount = seriesCount;
+        values = new float[columnsCount * seriesCount];
+        seriesColors = new int[seriesCount];
+        seriesDarkenColors = new int[seriesCount];
+        Arrays.fill(seriesColors, ChartUtils.DEFAULT_COLOR);
+        Arrays.fill(seriesDarkenColors, ChartUtils.DEFAULT_DARKEN_COLOR);
+    }
+
+    public ColumnMatrix(ColumnMatrix matrix) {
+        this(matrix.columnsCount, matrix.seriesCount);
+        System.arraycopy(matrix.values, 0, values, 0, values.length);
+        System.arraycopy(matrix.seriesColors, 0, seriesColors, 0, seriesCount);
+        System.arraycopy(matrix.seriesDarkenColors, 0, seriesDarkenColors, 0, seriesCount);
+        if (null != matrix.originValues) {
+            // Pending animation targets are copied too, so copy can be animated in the same way.
+            originValues = Arrays.copyOf(matrix.originValues, matrix.originValues.length);
+            diffValues = Arrays.copyOf(matrix.diffValues, matrix.diffValues.length);
+        }
+        if (null != matrix.labels) {
+            labels = Arrays.copyOf(matrix.labels, matrix.labels.length);
+        }
+        hasLabels = matrix.hasLabels;
+        hasLabelsOnlyForSelected = matrix.hasLabelsOnlyForSelected;
+        formatter = matrix.formatter;
+    }
+
+    public int getColumnsCount() {
+        return columnsCount;
+    }
+
+    public int getSeriesCount() {
+        return seriesCount;
+    }
+
+    /**
+     * Returns number of modifications of this matrix, it changes every time values, labels or colors are set or values
+     * are animated.
+     */
+    public int getModificationCount() {
+        return modificationCount;
+    }
+
+    public float getValue(int column, int series) {
+        return values[position(column, series)];
+    }
+
+    /**
+     * Sets value of sub-column, works like {@link SubColumnValue#setValue(float)}.
+     */
+    public ColumnMatrix setValue(int column, int series, float value) {
+        final int position = position(column, series);
+        values[position] = value;
+        if (null != originValues) {
+            originValues[position] = value;
+            diffValues[position] = 0;
+        }
+        ++modificationCount;
+        return this;
+    }
+
+    /**
+     * Set target value that should be reached when data animation finish then call
+     * {@link Chart#startDataAnimation()}, works like {@link SubColumnValue#setTarget(float)}.
+     */
+    public ColumnMatrix setTarget(int column, int series, float target) {
+        if (null == originValues) {
+            originValues = Arrays.copyOf(values, values.length);
+            diffValues = new float[values.length];
+        }
+        final int position = position(column, series);
+        setValue(column, series, values[position]);
+        diffValues[position] = target - originValues[position];
+        return this;
+    }
+
+    /**
+     * Returns label of sub-column or null if it has no label.
+     */
+    public char[] getLabel(int column, int series) {
+        if (null == labels) {
+            return null;
+        }
+        return labels[position(column, series)];
+    }
+
+    public ColumnMatrix setLabel(int column, int series, char[] label) {
+        final int position = position(column, series);
+        if (null == labels) {
+            if (null == label) {
+                return this;
+            }
+            labels = new char[values.length][];
+        }
+        labels[position] = label;
+        ++modificationCount;
+        return this;
+    }
+
+    public ColumnMatrix setLabel(int column, int series, String label) {
+        return setLabel(column, series, label.toCharArray());
+    }
+
+    public int getSeriesColor(int series) {
+        return seriesColors[series];
+    }
+
+    /**
+     * Sets color of all sub-columns of given series.
+     */
+    public ColumnMatrix setSeriesColor(int series, int color) {
+        seriesColors[series] = color;
+        seriesDarkenColors[series] = ChartUtils.darkenColor(color);
+        ++modificationCount;
+        return this;
+    }
+
+    public int getSeriesDarkenColor(int series) {
+        return seriesDarkenColors[series];
+    }
+
+    public boolean hasLabels() {
+        return hasLabels;
+    }
+
+    /**
+     * Works like {@link Column#setHasLabels(boolean)} for all columns.
+     */
+    public ColumnMatrix setHasLabels(boolean hasLabels) {
+        this.hasLabels = hasLabels;
+        if (hasLabels) {
+            this.hasLabelsOnlyForSelected = false;
+        }
+        ++modificationCount;
+        return this;
+    }
+
+    public boolean hasLabelsOnlyForSelected() {
+        return hasLabelsOnlyForSelected;
+    }
+
+    /**
+     * Works like {@link Column#setHasLabelsOnlyForSelected(boolean)} for all columns.
+     */
+    public ColumnMatrix setHasLabelsOnlyForSelected(boolean hasLabelsOnlyForSelected) {
+        this.hasLabelsOnlyForSelected = hasLabelsOnlyForSelected;
+        if (hasLabelsOnlyForSelected) {
+            this.hasLabels = false;
+        }
+        ++modificationCount;
+        return this;
+    }
+
+    public ColumnChartValueFormatter getFormatter() {
+        return formatter;
+    }
+
+    public ColumnMatrix setFormatter(ColumnChartValueFormatter formatter) {
+        if (null != formatter) {
+            this.formatter = formatter;
+            ++modificationCount;
+        }
+        return this;
+    }
+
+    public void update(float scale) {
+        if (null == originValues) {
+            return;
+        }
+        for (int i = 0; i < values.length; ++i) {
+            values[i] = originValues[i] + diffValues[i] * scale;
+        }
+        ++modificationCount;
+    }
+
+    public void finish() {
+        if (null == originValues) {
+            return;
+        }
+        for (int i = 0; i < values.length; ++i) {
+            values[i] = originValues[i] + diffValues[i];
+            originValues[i] = values[i];
+            diffValues[i] = 0;
+        }
+        ++modificationCount;
+    }
+
+    /**
+     * Returns the biggest value of all columns, or the biggest sum of their values if isStacked is true, computed the
+     * same way as {@link Column#getValuesTop(float, boolean)}. Result is cached until values change.
+     */
+    public float getValuesTop(float baseValue, boolean isStacked) {
+        calculateBounds(baseValue, isStacked);
+        return boundsTop;
+    }
+
+    /**
+     * @see #getValuesTop(float, boolean)
+     * @see Column#getValuesBottom(float, boolean)
+     */
+    public float getValuesBottom(float baseValue, boolean isStacked) {
+        calculateBounds(baseValue, isStacked);
+        return boundsBottom;
+    }
+
+    /**
+     * Copies values of given column into given Column object and returns it. Sub-column value objects of out are
+     * reused, so filling the same Column for every drawn column doesn't allocate.
+     */
+    public Column getColumn(int column, Column out) {
+        if (column < 0 || column >= columnsCount) {
+            throw new IndexOutOfBoundsException("Column: " + column + ", columns count: " + columnsCount);
+        }
+        final List<SubColumnValue> outValues = out.getValues();
+        while (outValues.size() > seriesCount) {
+            outValues.remove(outValues.size() - 1);
+        }
+        while (outValues.size() < seriesCount) {
+            outValues.add(new SubColumnValue());
+        }
+        for (int series = 0; series < seriesCount; ++series) {
+            final int position = column * seriesCount + series;
+            outValues.get(series).set(values[position], seriesColors[series], seriesDarkenColors[series],
+                    null == labels ? null : labels[position]);
+        }
+        out.setHasLabels(hasLabels);
+        out.setHasLabelsOnlyForSelected(hasLabelsOnlyForSelected);
+        out.setFormatter(formatter);
+        out.notifyValuesChanged();
+        return out;
+    }
+
+    /**
+     * Returns list view of this matrix. Elements of that list are copies created on every {@link List#get(int)} call
+     * so modifying them has no effect, use {@link List#set(int, Object)} or methods of this class to change values.
+     */
+    public List<Column> asColumns() {
+        if (null == columnsAdapter) {
+            columnsAdapter = new ColumnList();
+        }
+        return columnsAdapter;
+    }
+
+    private void calculateBounds(float baseValue, boolean isStacked) {
+        if (boundsModificationCount == modificationCount && boundsBaseValue == baseValue
+                && isBoundsStacked == isStacked) {
+            return;
+        }
+        boundsTop = baseValue;
+        boundsBottom = baseValue;
+        for (int column = 0; column < columnsCount; ++column) {
+            float top = baseValue;
+            float bottom = baseValue;
+            for (int position = column * seriesCount; position < (column + 1) * seriesCount; ++position) {
+                final float value = values[position];
+                if (value >= baseValue) {
+                    top = isStacked ? top + value : Math.max(top, value);
+                } else {
+                    bottom = isStacked ? bottom + value : Math.min(bottom, value);
+                }
+            }
+            boundsTop = Math.max(boundsTop, top);
+            boundsBottom = Math.min(boundsBottom, bottom);
+        }
+        boundsBaseValue = baseValue;
+        isBoundsStacked = isStacked;
+        boundsModificationCount = modificationCount;
+    }
+
+    private int position(int column, int series) {
+        if (column < 0 || column >= columnsCount || series < 0 || series >= seriesCount) {
+            throw new IndexOutOfBoundsException("Column: " + column + ", series: " + series + ", size: "
+                    + columnsCount + "x" + seriesCount);
+        }
+        return column * seriesCount + series;
+    }
+
+    private class ColumnList extends AbstractList<Column> {
+
+        @Override
+        public Column get(int index) {
+            return getColumn(index, new Column());
+        }
+
+        /**
+         * Copies values and labels of given column, it has to have one value per series. Colors stay per series.
+         */
+        @Override
+        public Column set(int index, Column column) {
+            final List<SubColumnValue> columnValues = column.getValues();
+            if (columnValues.size() != seriesCount) {
+                throw new IllegalArgumentException("Column has to have " + seriesCount + " values");
+            }
+            final Column previous = get(index);
+            for (int series = 0; series < seriesCount; ++series) {
+                final SubColumnValue columnValue = columnValues.get(series);
+                setValue(index, series, columnValue.getValue());
+                setLabel(index, series, columnValue.getLabelAsChars());
+            }
+            return previous;
+        }
+
+        @Override
+        public int size() {
+            return columnsCount;
+        }
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "ColumnMatrix [columns=" + columnsCount + ", series=" + seriesCount + "]";
+    }
+}
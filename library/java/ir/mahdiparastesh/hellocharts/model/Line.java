@@ -17,6 +17,9 @@ public class Line {
     private static final int DEFAULT_LINE_STROKE_WIDTH_DP = 3;
     private static final int DEFAULT_POINT_RADIUS_DP = 6;
     private static final int DEFAULT_AREA_TRANSPARENCY = 64;
+    private static final int X_ORDER_UNKNOWN = 0;
+    private static final int X_ORDER_SORTED = 1;
+    private static final int X_ORDER_UNSORTED = 2;
     public static final int UNINITIALIZED = 0;
     private int color = ChartUtils.DEFAULT_COLOR;
     private int pointColor = UNINITIALIZED;
@@ -35,10 +38,39 @@ public class Line {
     private boolean isCubic = false;
     private boolean isSquare = false;
     private boolean isFilled = false;
+    private boolean isSortedByX = false;
+    private boolean isDecimated = false;
+    private boolean isPathCached = false;
+    /**
+     * Incremented every time values are changed through this line, see {@link #getValuesStamp()}.
+     */
+    private int valuesVersion;
+    /**
+     * Detected order of X values, lines that use {@link PointSeries} use order detected by series.
+     */
+    private int xOrder = X_ORDER_UNKNOWN;
+    /**
+     * Bounds of values, valid as long as {@link #boundsStamp} matches values stamp, see {@link #getValuesBounds()}.
+     */
+    private final Viewport bounds = new Viewport();
+    private long boundsStamp;
+    private boolean isBoundsValid = false;
+    /**
+     * Bounds of values at the start and at the end of current data animation, valid as long as
+     * {@link #animationBoundsStamp} matches values stamp.
+     */
+    private final Viewport animationStartBounds = new Viewport();
+    private final Viewport animationTargetBounds = new Viewport();
+    private long animationBoundsStamp;
+    private boolean isAnimationBoundsValid = false;
     private ValueShape shape = ValueShape.CIRCLE;
     private PathEffect pathEffect;
     private LineChartValueFormatter formatter = new SimpleLineChartValueFormatter();
     private List<PointValue> values = new ArrayList<>();
+    /**
+     * Primitive storage used instead of {@link #values} if not null.
+     */
+    private PointSeries series;
 
     public Line() {
     }
@@ -47,6 +79,10 @@ public class Line {
         setValues(values);
     }
 
+    public Line(PointSeries series) {
+        setSeries(series);
+    }
+
     public Line(Line line) {
         this.color = line.color;
         this.pointColor = line.pointColor;
@@ -62,28 +98,183 @@ public class Line {
         this.isSquare = line.isSquare;
         this.isCubic = line.isCubic;
         this.isFilled = line.isFilled;
+        this.isSortedByX = line.isSortedByX;
+        this.isDecimated = line.isDecimated;
+        this.isPathCached = line.isPathCached;
         this.shape = line.shape;
         this.pathEffect = line.pathEffect;
         this.formatter = line.formatter;
 
-        for (PointValue pointValue : line.values) {
-            this.values.add(new PointValue(pointValue));
+        if (null != line.series) {
+            this.series = new PointSeries(line.series);
+        } else {
+            for (PointValue pointValue : line.values) {
+                this.values.add(new PointValue(pointValue));
+            }
         }
     }
 
     public void update(float scale) {
-        for (PointValue value : values) value.update(scale);
+        if (!isAnimationBoundsValid || animationBoundsStamp != getValuesStamp()) {
+            calculateAnimationBounds();
+        }
+        if (null != series) {
+            series.update(scale);
+        } else {
+            for (PointValue value : values) value.update(scale);
+        }
+        onValuesChanged();
+        // Every value is between its start and target value so it is also within interpolated bounds.
+        bounds.set(
+                animationStartBounds.left + (animationTargetBounds.left - animationStartBounds.left) * scale,
+                animationStartBounds.top + (animationTargetBounds.top - animationStartBounds.top) * scale,
+                animationStartBounds.right + (animationTargetBounds.right - animationStartBounds.right) * scale,
+                animationStartBounds.bottom + (animationTargetBounds.bottom - animationStartBounds.bottom) * scale);
+        boundsStamp = getValuesStamp();
+        isBoundsValid = true;
+        animationBoundsStamp = getValuesStamp();
     }
 
     public void finish() {
-        for (PointValue value : values) value.finish();
+        final boolean hasAnimationBounds = isAnimationBoundsValid && animationBoundsStamp == getValuesStamp();
+        if (null != series) {
+            series.finish();
+        } else {
+            for (PointValue value : values) value.finish();
+        }
+        onValuesChanged();
+        isAnimationBoundsValid = false;
+        if (hasAnimationBounds) {
+            bounds.set(animationTargetBounds);
+            boundsStamp = getValuesStamp();
+            isBoundsValid = true;
+        } else {
+            isBoundsValid = false;
+        }
+    }
+
+    /**
+     * Invalidates information cached about values of this line, call it after modifying {@link PointValue} objects of
+     * this line in place. Renderers call it for every line when chart data is set, changes made through
+     * {@link PointSeries} are detected automatically.
+     */
+    public void notifyValuesChanged() {
+        onValuesChanged();
+        isBoundsValid = false;
+        isAnimationBoundsValid = false;
+    }
+
+    private void onValuesChanged() {
+        xOrder = X_ORDER_UNKNOWN;
+        ++valuesVersion;
+    }
+
+    /**
+     * Returns bounds of values of this line, left and right are minimal and maximal X, bottom and top are minimal and
+     * maximal Y. Bounds are cached until values change, during data animation they are interpolated from bounds of
+     * start and target values so they can be a little bigger than exact bounds. Returned viewport must not be modified,
+     * for empty line it is inverted so it doesn't change result of comparisons with other bounds.
+     */
+    public Viewport getValuesBounds() {
+        if (!isBoundsValid || boundsStamp != getValuesStamp()) {
+            setEmptyBounds(bounds);
+            if (null != series) {
+                series.calculateBounds(bounds);
+            } else {
+                for (PointValue value : values) {
+                    includeInBounds(bounds, value.getX(), value.getY());
+                }
+            }
+            boundsStamp = getValuesStamp();
+            isBoundsValid = true;
+        }
+        return bounds;
+    }
+
+    private void calculateAnimationBounds() {
+        setEmptyBounds(animationStartBounds);
+        setEmptyBounds(animationTargetBounds);
+        if (null != series) {
+            series.calculateAnimationBounds(animationStartBounds, animationTargetBounds);
+        } else {
+            for (PointValue value : values) {
+                includeInBounds(animationStartBounds, value.getOriginX(), value.getOriginY());
+                includeInBounds(animationTargetBounds, value.getTargetX(), value.getTargetY());
+            }
+        }
+        isAnimationBoundsValid = true;
+    }
+
+    static void setEmptyBounds(Viewport bounds) {
+        bounds.set(Float.MAX_VALUE, -Float.MAX_VALUE, -Float.MAX_VALUE, Float.MAX_VALUE);
+    }
+
+    static void includeInBounds(Viewport bounds, float x, float y) {
+        if (x < bounds.left) {
+            bounds.left = x;
+        }
+        if (x > bounds.right) {
+            bounds.right = x;
+        }
+        if (y < bounds.bottom) {
+            bounds.bottom = y;
+        }
+        if (y > bounds.top) {
+            bounds.top = y;
+        }
+    }
+
+    /**
+     * Returns stamp that changes every time values of this line change, renderers compare it to know if data cached
+     * for this line is still valid.
+     */
+    public long getValuesStamp() {
+        final long stamp = ((long) valuesVersion) << 32;
+        if (null != series) {
+            return stamp | (series.getModificationCount() & 0xffffffffL);
+        }
+        return stamp;
+    }
+
+    /**
+     * Returns stamp that changes every time existing values of this line are modified. Unlike
+     * {@link #getValuesStamp()} it stays the same when points are appended to {@link PointSeries} or removed from its
+     * beginning, so data cached for values of this line can be kept and only extended or trimmed, see
+     * {@link #getRemovedCount()}.
+     */
+    public long getRewriteStamp() {
+        final long stamp = ((long) valuesVersion) << 32;
+        if (null != series) {
+            return stamp | (series.getRewriteCount() & 0xffffffffL);
+        }
+        return stamp;
+    }
+
+    /**
+     * Returns number of values removed from the beginning of {@link PointSeries} of this line, see
+     * {@link PointSeries#getRemovedCount()}. Lines that use list of {@link PointValue} return 0.
+     */
+    public long getRemovedCount() {
+        if (null != series) {
+            return series.getRemovedCount();
+        }
+        return 0;
     }
 
+    /**
+     * Returns values of this line. If line uses {@link PointSeries} returned list is an adapter created by
+     * {@link PointSeries#asList()}.
+     */
     public List<PointValue> getValues() {
+        if (null != series) {
+            return series.asList();
+        }
         return this.values;
     }
 
     public void setValues(List<PointValue> values) {
+        this.series = null;
+        notifyValuesChanged();
         if (null == values) {
             this.values = new ArrayList<>();
         } else {
@@ -91,6 +282,59 @@ public class Line {
         }
     }
 
+    /**
+     * Returns primitive storage of this line or null if line uses list of {@link PointValue}.
+     */
+    public PointSeries getSeries() {
+        return series;
+    }
+
+    /**
+     * Set primitive storage for values of this line, it replaces values set with {@link #setValues(List)}. Prefer it
+     * for lines with many points, renderers read coordinates directly from series arrays.
+     */
+    public Line setSeries(PointSeries series) {
+        this.series = series;
+        this.values = new ArrayList<>();
+        notifyValuesChanged();
+        return this;
+    }
+
+    /**
+     * Returns number of values of this line.
+     */
+    public int getValuesCount() {
+        if (null != series) {
+            return series.size();
+        }
+        return values.size();
+    }
+
+    public float getValueX(int index) {
+        if (null != series) {
+            return series.getX(index);
+        }
+        return values.get(index).getX();
+    }
+
+    public float getValueY(int index) {
+        if (null != series) {
+            return series.getY(index);
+        }
+        return values.get(index).getY();
+    }
+
+    /**
+     * Returns value at given index. If line uses list of {@link PointValue} stored object is returned, otherwise value
+     * is copied into reusable object passed as parameter so no allocation is done.
+     */
+    public PointValue getValue(int index, PointValue reuse) {
+        if (null != series) {
+            return series.getValue(index, reuse);
+        }
+        return values.get(index);
+    }
+
     public int getColor() {
         return color;
     }
@@ -241,6 +485,77 @@ public class Line {
         return this;
     }
 
+    /**
+     * Returns true if X values of this line are in ascending order, either because it was set with
+     * {@link #setSortedByX(boolean)} or because it was detected. Renderers use it to process only values within
+     * visible viewport.
+     */
+    public boolean isSortedByX() {
+        if (isSortedByX) {
+            return true;
+        }
+        if (null != series) {
+            return series.isSortedByX();
+        }
+        if (X_ORDER_UNKNOWN == xOrder) {
+            xOrder = X_ORDER_SORTED;
+            final int size = getValuesCount();
+            for (int i = 1; i < size; ++i) {
+                if (getValueX(i) < getValueX(i - 1)) {
+                    xOrder = X_ORDER_UNSORTED;
+                    break;
+                }
+            }
+        }
+        return X_ORDER_SORTED == xOrder;
+    }
+
+    /**
+     * Set true if X values of this line are always in ascending order, that way order doesn't have to be detected
+     * every time values change. By default order is detected automatically.
+     */
+    public Line setSortedByX(boolean isSortedByX) {
+        this.isSortedByX = isSortedByX;
+        return this;
+    }
+
+    /**
+     * @see #setDecimated(boolean)
+     */
+    public boolean isDecimated() {
+        return isDecimated;
+    }
+
+    /**
+     * Set true to draw only the points that are visible at current resolution. Works for lines sorted by X that have
+     * more values than chart has horizontal pixels, for every pixel column only first, last, minimum and maximum values
+     * are drawn so rendered line looks the same while much less path segments are used. Cubic lines use
+     * Largest-Triangle-Three-Buckets levels of detail instead, level is chosen for current zoom so there is about one
+     * value per pixel.
+     */
+    public Line setDecimated(boolean isDecimated) {
+        this.isDecimated = isDecimated;
+        return this;
+    }
+
+    /**
+     * @see #setPathCached(boolean)
+     */
+    public boolean isPathCached() {
+        return isPathCached;
+    }
+
+    /**
+     * Set true to build path of this line once in value space and only transform it to screen coordinates when
+     * viewport changes, so scrolling and zooming don't rebuild the path. Path is rebuilt when values change or line
+     * is switched between cubic, square and straight mode. Whole line is drawn every frame, so it works best for lines
+     * that are mostly visible. Ignored for decimated lines, their path depends on resolution.
+     */
+    public Line setPathCached(boolean isPathCached) {
+        this.isPathCached = isPathCached;
+        return this;
+    }
+
     public boolean isFilled() {
         return isFilled;
     }
@@ -37,6 +37,19 @@ public class PieChartData extends AbstractChartData {
     private String centerText2;
 
     private List<SliceValue> values = new ArrayList<>();
+    /**
+     * Cached sum of absolute values, see {@link #getValuesAbsSum()}.
+     */
+    private float absSum;
+    private boolean isAbsSumValid = false;
+    /**
+     * Sums of absolute values at the start and at the end of current data animation. If no slice changes its sign
+     * during animation sum is a linear function of animation scale.
+     */
+    private float animationStartAbsSum;
+    private float animationTargetAbsSum;
+    private boolean isAnimationAbsSumLinear;
+    private boolean isAnimationAbsSumValid = false;
 
     public PieChartData() {
         setAxisXBottom(null);
@@ -90,9 +103,18 @@ public class PieChartData extends AbstractChartData {
 
     @Override
     public void update(float scale) {
+        if (!isAnimationAbsSumValid) {
+            calculateAnimationAbsSum();
+        }
         for (SliceValue value : values) {
             value.update(scale);
         }
+        if (isAnimationAbsSumLinear) {
+            absSum = animationStartAbsSum + (animationTargetAbsSum - animationStartAbsSum) * scale;
+            isAbsSumValid = true;
+        } else {
+            isAbsSumValid = false;
+        }
     }
 
     @Override
@@ -100,6 +122,47 @@ public class PieChartData extends AbstractChartData {
         for (SliceValue value : values) {
             value.finish();
         }
+        isAbsSumValid = isAnimationAbsSumValid;
+        absSum = animationTargetAbsSum;
+        isAnimationAbsSumValid = false;
+    }
+
+    /**
+     * Invalidates sum cached for values, call it after modifying {@link SliceValue} objects in place. Renderer calls
+     * it when chart data is set.
+     */
+    public void notifyValuesChanged() {
+        isAbsSumValid = false;
+        isAnimationAbsSumValid = false;
+    }
+
+    /**
+     * Returns sum of absolute values of all slices. It is cached until values change, during data animation it is
+     * interpolated from sums of start and target values unless some slice changes its sign.
+     */
+    public float getValuesAbsSum() {
+        if (!isAbsSumValid) {
+            absSum = 0f;
+            for (SliceValue sliceValue : values) {
+                absSum += Math.abs(sliceValue.getValue());
+            }
+            isAbsSumValid = true;
+        }
+        return absSum;
+    }
+
+    private void calculateAnimationAbsSum() {
+        animationStartAbsSum = 0f;
+        animationTargetAbsSum = 0f;
+        isAnimationAbsSumLinear = true;
+        for (SliceValue value : values) {
+            animationStartAbsSum += Math.abs(value.getOriginValue());
+            animationTargetAbsSum += Math.abs(value.getTargetValue());
+            if (value.getOriginValue() * value.getTargetValue() < 0) {
+                isAnimationAbsSumLinear = false;
+            }
+        }
+        isAnimationAbsSumValid = true;
     }
 
     /**
@@ -123,6 +186,7 @@ public class PieChartData extends AbstractChartData {
     }
 
     public PieChartData setValues(List<SliceValue> values) {
+        notifyValuesChanged();
         if (null == values) {
             this.values = new ArrayList<>();
         } else {
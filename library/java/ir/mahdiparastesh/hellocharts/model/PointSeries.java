@@ -0,0 +1,551 @@
+package ir.mahdiparastesh.hellocharts.model;
+
+import androidx.annotation.NonNull;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+import ir.mahdiparastesh.hellocharts.view.Chart;
+
+/**
+ * Primitive storage for values of a single {@link Line}. X and Y coordinates are kept in growable float arrays instead
+ * of one {@link PointValue} object per point, animation targets and labels are kept in side arrays that are allocated
+ * only when {@link #setTarget(int, float, float)} or {@link #setLabel(int, char[])} is used for the first time.
+ * Use it with {@link Line#setSeries(PointSeries)} for lines with many points.
+ * <p>
+ * Series can also be used as a fixed size window over streaming data, see {@link #setMaxSize(int)}.
+ */
+public class PointSeries {
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int X_ORDER_UNKNOWN = 0;
+    private static final int X_ORDER_SORTED = 1;
+    private static final int X_ORDER_UNSORTED = 2;
+    private float[] xValues;
+    private float[] yValues;
+    private float[] originXValues;
+    private float[] originYValues;
+    private float[] diffXValues;
+    private float[] diffYValues;
+    private char[][] labels;
+    /**
+     * Position of the first point in arrays, removing points from the beginning only moves it.
+     */
+    private int start;
+    private int size;
+    private int maxSize;
+    private long removedCount;
+    private int modificationCount;
+    private int rewriteCount;
+    private int xOrder = X_ORDER_SORTED;
+    /**
+     * Bounds of series with maximal size, updated on every append and removal, see {@link #setMaxSize(int)}.
+     */
+    private SlidingExtremum minX;
+    private SlidingExtremum maxX;
+    private SlidingExtremum minY;
+    private SlidingExtremum maxY;
+    private boolean isBoundsTracked;
+    private List<PointValue> valuesAdapter;
+
+    public PointSeries() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity number of points this series can hold before its arrays have to grow.
+     */
+    public PointSeries(int capacity) {
+        if (capacity < 1) {
+            capacity = 1;
+        }
+        xValues = new float[capacity];
+        yValues = new float[capacity];
+    }
+
+    /**
+     * Creates series holding the same values as given list, list is not referenced after that.
+     */
+    public PointSeries(List<PointValue> values) {
+        this(values.size());
+        for (PointValue pointValue : values) {
+            add(pointValue.getX(), pointValue.getY());
+            if (null != pointValue.getLabelAsChars()) {
+                setLabel(size - 1, pointValue.getLabelAsChars());
+            }
+        }
+    }
+
+    /**
+     * Copy constructor for deep copy.
+     */
+    public PointSeries(PointSeries series) {
+        this(series.size);
+        System.arraycopy(series.xValues, series.start, xValues, 0, series.size);
+        System.arraycopy(series.yValues, series.start, yValues, 0, series.size);
+        if (null != series.labels) {
+            labels = new char[xValues.length][];
+            System.arraycopy(series.labels, series.start, labels, 0, series.size);
+        }
+        if (null != series.originXValues) {
+            // Pending animation targets are copied too, so copy can be animated in the same way.
+            originXValues = Arrays.copyOfRange(series.originXValues, series.start, series.start + xValues.length);
+            originYValues = Arrays.copyOfRange(series.originYValues, series.start, series.start + xValues.length);
+            diffXValues = Arrays.copyOfRange(series.diffXValues, series.start, series.start + xValues.length);
+            diffYValues = Arrays.copyOfRange(series.diffYValues, series.start, series.start + xValues.length);
+        }
+        size = series.size;
+        xOrder = series.xOrder;
+        setMaxSize(series.maxSize);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns number of structural or value modifications of this series, it changes every time points are added,
+     * removed, set or animated. Used by {@link Line} to know when cached information about values must be recalculated.
+     */
+    public int getModificationCount() {
+        return modificationCount;
+    }
+
+    /**
+     * Returns number of modifications of points that already were in this series, unlike
+     * {@link #getModificationCount()} it doesn't change when points are appended with {@link #add(float, float)} or
+     * removed with {@link #removeFirst(int)}. If it didn't change, information cached about points that are still in
+     * this series is valid, {@link #getRemovedCount()} tells how many of them were removed.
+     */
+    public int getRewriteCount() {
+        return rewriteCount;
+    }
+
+    /**
+     * Returns total number of points removed from the beginning of this series with {@link #removeFirst(int)} or
+     * because of {@link #setMaxSize(int)}. Point at index i was appended as point number {@code getRemovedCount() + i}.
+     */
+    public long getRemovedCount() {
+        return removedCount;
+    }
+
+    public float getX(int index) {
+        return xValues[start + index];
+    }
+
+    public float getY(int index) {
+        return yValues[start + index];
+    }
+
+    /**
+     * Returns label of point at given index or null if that point has no label.
+     */
+    public char[] getLabel(int index) {
+        if (null == labels) {
+            return null;
+        }
+        return labels[start + index];
+    }
+
+    /**
+     * Appends point at the end of this series. If series has maximal size and it is full the first point is removed.
+     */
+    public PointSeries add(float x, float y) {
+        if (maxSize > 0 && size == maxSize) {
+            removeFirst(1);
+        }
+        if (start + size == xValues.length) {
+            makeRoom();
+        }
+        if (size > 0 && X_ORDER_SORTED == xOrder && x < xValues[start + size - 1]) {
+            xOrder = X_ORDER_UNSORTED;
+        }
+        final int position = start + size;
+        xValues[position] = x;
+        yValues[position] = y;
+        if (null != originXValues) {
+            originXValues[position] = x;
+            originYValues[position] = y;
+            diffXValues[position] = 0;
+            diffYValues[position] = 0;
+        }
+        if (isBoundsTracked) {
+            final long sequence = removedCount + size;
+            minX.add(sequence, x);
+            maxX.add(sequence, x);
+            minY.add(sequence, y);
+            maxY.add(sequence, y);
+        }
+        ++size;
+        ++modificationCount;
+        return this;
+    }
+
+    /**
+     * Removes given number of points from the beginning of this series, it doesn't move remaining points.
+     */
+    public PointSeries removeFirst(int count) {
+        if (count < 0 || count > size) {
+            throw new IndexOutOfBoundsException("Count: " + count + ", size: " + size);
+        }
+        if (isBoundsTracked) {
+            for (int i = 0; i < count; ++i) {
+                final long sequence = removedCount + i;
+                minX.remove(sequence);
+                maxX.remove(sequence);
+                minY.remove(sequence);
+                maxY.remove(sequence);
+            }
+        }
+        if (null != labels) {
+            Arrays.fill(labels, start, start + count, null);
+        }
+        start += count;
+        size -= count;
+        removedCount += count;
+        if (size == 0) {
+            start = 0;
+        }
+        if (X_ORDER_UNSORTED == xOrder) {
+            // Remaining points may be sorted now.
+            xOrder = X_ORDER_UNKNOWN;
+        }
+        ++modificationCount;
+        return this;
+    }
+
+    /**
+     * Sets point at given index, works like {@link PointValue#set(float, float)}.
+     */
+    public PointSeries set(int index, float x, float y) {
+        checkIndex(index);
+        final int position = start + index;
+        xValues[position] = x;
+        yValues[position] = y;
+        if (null != originXValues) {
+            originXValues[position] = x;
+            originYValues[position] = y;
+            diffXValues[position] = 0;
+            diffYValues[position] = 0;
+        }
+        onPointsRewritten();
+        return this;
+    }
+
+    /**
+     * Set target values that should be reached when data animation finish then call
+     * {@link Chart#startDataAnimation()}, works like {@link PointValue#setTarget(float, float)}.
+     */
+    public PointSeries setTarget(int index, float targetX, float targetY) {
+        checkIndex(index);
+        if (null == originXValues) {
+            originXValues = Arrays.copyOf(xValues, xValues.length);
+            originYValues = Arrays.copyOf(yValues, yValues.length);
+            diffXValues = new float[xValues.length];
+            diffYValues = new float[yValues.length];
+        }
+        final int position = start + index;
+        set(index, xValues[position], yValues[position]);
+        diffXValues[position] = targetX - originXValues[position];
+        diffYValues[position] = targetY - originYValues[position];
+        return this;
+    }
+
+    public PointSeries setLabel(int index, char[] label) {
+        checkIndex(index);
+        if (null == labels) {
+            if (null == label) {
+                return this;
+            }
+            labels = new char[xValues.length][];
+        }
+        labels[start + index] = label;
+        return this;
+    }
+
+    public PointSeries setLabel(int index, String label) {
+        return setLabel(index, label.toCharArray());
+    }
+
+    /**
+     * Copies point at given index into given PointValue and returns it.
+     */
+    public PointValue getValue(int index, PointValue out) {
+        out.set(xValues[start + index], yValues[start + index]);
+        out.setLabel(getLabel(index));
+        return out;
+    }
+
+    public void update(float scale) {
+        if (null == originXValues) {
+            return;
+        }
+        for (int i = start; i < start + size; ++i) {
+            xValues[i] = originXValues[i] + diffXValues[i] * scale;
+            yValues[i] = originYValues[i] + diffYValues[i] * scale;
+        }
+        onPointsRewritten();
+    }
+
+    public void finish() {
+        if (null == originXValues) {
+            return;
+        }
+        for (int i = 0; i < size; ++i) {
+            final int position = start + i;
+            set(i, originXValues[position] + diffXValues[position], originYValues[position] + diffYValues[position]);
+        }
+    }
+
+    /**
+     * Returns true if X values of this series are in ascending order. Order is kept up to date when points are
+     * appended and detected again only after points were modified in place.
+     */
+    public boolean isSortedByX() {
+        if (X_ORDER_UNKNOWN == xOrder) {
+            xOrder = X_ORDER_SORTED;
+            for (int i = start + 1; i < start + size; ++i) {
+                if (xValues[i] < xValues[i - 1]) {
+                    xOrder = X_ORDER_UNSORTED;
+                    break;
+                }
+            }
+        }
+        return X_ORDER_SORTED == xOrder;
+    }
+
+    /**
+     * @see #setMaxSize(int)
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Set maximal number of points of this series, when series is full {@link #add(float, float)} removes the first
+     * point so series works like a fixed size window over streaming data. Appending and removing points takes
+     * constant time and bounds of values are updated on the way, so chart can be refreshed with
+     * {@link ir.mahdiparastesh.hellocharts.view.LineChartView#notifyValuesAppended()} without scanning all points.
+     * Use 0 for series without limit, that is default.
+     */
+    public PointSeries setMaxSize(int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("Max size must be positive or 0, was: " + maxSize);
+        }
+        this.maxSize = maxSize;
+        if (maxSize > 0 && size > maxSize) {
+            removeFirst(size - maxSize);
+        }
+        if (maxSize > 0 && null == minX) {
+            minX = new SlidingExtremum(false);
+            maxX = new SlidingExtremum(true);
+            minY = new SlidingExtremum(false);
+            maxY = new SlidingExtremum(true);
+        }
+        if (0 == maxSize) {
+            isBoundsTracked = false;
+        }
+        return this;
+    }
+
+    /**
+     * Calculates bounds of values of this series, for series with maximal size bounds are tracked so it takes
+     * constant time. Empty series leaves given viewport unchanged.
+     */
+    void calculateBounds(Viewport bounds) {
+        if (maxSize > 0) {
+            if (!isBoundsTracked) {
+                startBoundsTracking();
+            }
+            if (size > 0) {
+                bounds.set(minX.get(), maxY.get(), maxX.get(), minY.get());
+            }
+            return;
+        }
+        for (int i = start; i < start + size; ++i) {
+            Line.includeInBounds(bounds, xValues[i], yValues[i]);
+        }
+    }
+
+    /**
+     * Calculates bounds of values at the start and at the end of current animation, both are bounds of current values
+     * if no targets were set. Empty series leaves given viewports unchanged.
+     */
+    void calculateAnimationBounds(Viewport startBounds, Viewport targetBounds) {
+        for (int i = start; i < start + size; ++i) {
+            if (null == originXValues) {
+                Line.includeInBounds(startBounds, xValues[i], yValues[i]);
+            } else {
+                Line.includeInBounds(startBounds, originXValues[i], originYValues[i]);
+                Line.includeInBounds(targetBounds, originXValues[i] + diffXValues[i],
+                        originYValues[i] + diffYValues[i]);
+            }
+        }
+        if (null == originXValues) {
+            targetBounds.set(startBounds);
+        }
+    }
+
+    /**
+     * Removes all points, arrays are kept so series can be filled again without allocations.
+     */
+    public void clear() {
+        if (null != labels) {
+            Arrays.fill(labels, start, start + size, null);
+        }
+        start = 0;
+        size = 0;
+        xOrder = X_ORDER_SORTED;
+        if (isBoundsTracked) {
+            minX.clear();
+            maxX.clear();
+            minY.clear();
+            maxY.clear();
+        }
+        ++modificationCount;
+        ++rewriteCount;
+    }
+
+    /**
+     * Makes sure this series can hold given number of points without growing its arrays.
+     */
+    public void ensureCapacity(int capacity) {
+        if (capacity <= xValues.length - start) {
+            return;
+        }
+        if (start > 0) {
+            compact();
+            if (capacity <= xValues.length) {
+                return;
+            }
+        }
+        final int newCapacity = Math.max(capacity, xValues.length + (xValues.length >> 1));
+        xValues = Arrays.copyOf(xValues, newCapacity);
+        yValues = Arrays.copyOf(yValues, newCapacity);
+        if (null != originXValues) {
+            originXValues = Arrays.copyOf(originXValues, newCapacity);
+            originYValues = Arrays.copyOf(originYValues, newCapacity);
+            diffXValues = Arrays.copyOf(diffXValues, newCapacity);
+            diffYValues = Arrays.copyOf(diffYValues, newCapacity);
+        }
+        if (null != labels) {
+            labels = Arrays.copyOf(labels, newCapacity);
+        }
+    }
+
+    /**
+     * Returns list view of this series. Elements of that list are copies created on every
+     * {@link List#get(int)} call so modifying them has no effect, use {@link List#set(int, Object)} or methods of this
+     * class to change values.
+     */
+    public List<PointValue> asList() {
+        if (null == valuesAdapter) {
+            valuesAdapter = new PointValueList();
+        }
+        return valuesAdapter;
+    }
+
+    /**
+     * Called when there is no free space after the last point. Series with maximal size keep arrays twice as big as
+     * maximal size and move points back to the beginning when they reach the end, so points stay in one piece and
+     * moving them costs constant time per appended point.
+     */
+    private void makeRoom() {
+        if (maxSize > 0 && start > 0 && xValues.length >= 2 * maxSize) {
+            compact();
+        } else if (maxSize > 0) {
+            ensureCapacity(Math.max(size + 1, Math.min(2 * maxSize, xValues.length * 2)));
+        } else {
+            ensureCapacity(size + 1);
+        }
+    }
+
+    /**
+     * Moves points to the beginning of arrays.
+     */
+    private void compact() {
+        System.arraycopy(xValues, start, xValues, 0, size);
+        System.arraycopy(yValues, start, yValues, 0, size);
+        if (null != originXValues) {
+            System.arraycopy(originXValues, start, originXValues, 0, size);
+            System.arraycopy(originYValues, start, originYValues, 0, size);
+            System.arraycopy(diffXValues, start, diffXValues, 0, size);
+            System.arraycopy(diffYValues, start, diffYValues, 0, size);
+        }
+        if (null != labels) {
+            System.arraycopy(labels, start, labels, 0, size);
+            Arrays.fill(labels, size, start + size, null);
+        }
+        start = 0;
+    }
+
+    private void startBoundsTracking() {
+        minX.clear();
+        maxX.clear();
+        minY.clear();
+        maxY.clear();
+        for (int i = 0; i < size; ++i) {
+            final long sequence = removedCount + i;
+            minX.add(sequence, xValues[start + i]);
+            maxX.add(sequence, xValues[start + i]);
+            minY.add(sequence, yValues[start + i]);
+            maxY.add(sequence, yValues[start + i]);
+        }
+        isBoundsTracked = true;
+    }
+
+    private void onPointsRewritten() {
+        xOrder = X_ORDER_UNKNOWN;
+        isBoundsTracked = false;
+        ++modificationCount;
+        ++rewriteCount;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+        }
+    }
+
+    private class PointValueList extends AbstractList<PointValue> {
+
+        @Override
+        public PointValue get(int index) {
+            checkIndex(index);
+            return getValue(index, new PointValue());
+        }
+
+        @Override
+        public PointValue set(int index, PointValue pointValue) {
+            final PointValue previous = get(index);
+            PointSeries.this.set(index, pointValue.getX(), pointValue.getY());
+            setLabel(index, pointValue.getLabelAsChars());
+            return previous;
+        }
+
+        @Override
+        public boolean add(PointValue pointValue) {
+            PointSeries.this.add(pointValue.getX(), pointValue.getY());
+            setLabel(size - 1, pointValue.getLabelAsChars());
+            ++modCount;
+            return true;
+        }
+
+        @Override
+        public void clear() {
+            PointSeries.this.clear();
+            ++modCount;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "PointSeries [size=" + size + ", maxSize=" + maxSize + "]";
+    }
+}
@@ -57,6 +57,28 @@ public class PointValue {
         return this;
     }
 
+    /**
+     * Returns X value from which current animation started, the same as {@link #getX()} if there is no animation.
+     */
+    float getOriginX() {
+        return originX;
+    }
+
+    float getOriginY() {
+        return originY;
+    }
+
+    /**
+     * Returns X value that will be reached when current animation finishes.
+     */
+    float getTargetX() {
+        return originX + diffX;
+    }
+
+    float getTargetY() {
+        return originY + diffY;
+    }
+
     public float getX() {
         return this.x;
     }
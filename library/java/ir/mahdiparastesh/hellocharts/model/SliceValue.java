@@ -77,6 +77,20 @@ public class SliceValue {
         return value;
     }
 
+    /**
+     * Returns value from which current animation started, the same as {@link #getValue()} if there is no animation.
+     */
+    float getOriginValue() {
+        return originValue;
+    }
+
+    /**
+     * Returns value that will be reached when current animation finishes.
+     */
+    float getTargetValue() {
+        return originValue + diff;
+    }
+
     public SliceValue setValue(float value) {
         this.value = value;
         this.originValue = value;
@@ -0,0 +1,79 @@
+package ir.mahdiparastesh.hellocharts.model;
+
+/**
+ * Minimum or maximum of values in a window that grows at the end and shrinks at the beginning, used by
+ * {@link PointSeries} to keep bounds of streaming values. Values that can't become extremum anymore are dropped when
+ * new value is added so both operations take amortized constant time.
+ */
+class SlidingExtremum {
+    private final boolean isMaximum;
+    private float[] values = new float[16];
+    private long[] sequences = new long[16];
+    private int head;
+    private int count;
+
+    SlidingExtremum(boolean isMaximum) {
+        this.isMaximum = isMaximum;
+    }
+
+    /**
+     * Adds value at the end of the window, sequence must be bigger than sequence of any value added before.
+     */
+    void add(long sequence, float value) {
+        while (count > 0) {
+            final float last = values[position(count - 1)];
+            if (isMaximum ? last > value : last < value) {
+                break;
+            }
+            --count;
+        }
+        if (count == values.length) {
+            grow();
+        }
+        final int position = position(count);
+        values[position] = value;
+        sequences[position] = sequence;
+        ++count;
+    }
+
+    /**
+     * Removes value with given sequence from the beginning of the window.
+     */
+    void remove(long sequence) {
+        if (count > 0 && sequences[head] == sequence) {
+            head = position(1);
+            --count;
+        }
+    }
+
+    boolean isEmpty() {
+        return count == 0;
+    }
+
+    float get() {
+        return values[head];
+    }
+
+    void clear() {
+        head = 0;
+        count = 0;
+    }
+
+    private int position(int index) {
+        final int position = head + index;
+        return position < values.length ? position : position - values.length;
+    }
+
+    private void grow() {
+        final float[] newValues = new float[values.length * 2];
+        final long[] newSequences = new long[sequences.length * 2];
+        final int firstPart = Math.min(count, values.length - head);
+        System.arraycopy(values, head, newValues, 0, firstPart);
+        System.arraycopy(sequences, head, newSequences, 0, firstPart);
+        System.arraycopy(values, 0, newValues, firstPart, count - firstPart);
+        System.arraycopy(sequences, 0, newSequences, firstPart, count - firstPart);
+        values = newValues;
+        sequences = newSequences;
+        head = 0;
+    }
+}
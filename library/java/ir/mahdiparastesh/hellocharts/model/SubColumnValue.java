@@ -48,6 +48,30 @@ public class SubColumnValue {
         return value;
     }
 
+    /**
+     * Returns value from which current animation started, the same as {@link #getValue()} if there is no animation.
+     */
+    float getOriginValue() {
+        return originValue;
+    }
+
+    /**
+     * Returns value that will be reached when current animation finishes.
+     */
+    float getTargetValue() {
+        return originValue + diff;
+    }
+
+    /**
+     * Sets value and colors without calculating darken color, used by {@link ColumnMatrix}.
+     */
+    void set(float value, int color, int darkenColor, char[] label) {
+        setValue(value);
+        this.color = color;
+        this.darkenColor = darkenColor;
+        this.label = label;
+    }
+
     public SubColumnValue setValue(float value) {
         this.value = value;
         this.originValue = value;
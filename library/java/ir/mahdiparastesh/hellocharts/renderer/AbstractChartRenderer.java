@@ -35,6 +35,8 @@ public abstract class AbstractChartRenderer implements ChartRenderer {
     protected int labelMargin;
     protected boolean isValueLabelBackgroundEnabled;
     protected boolean isValueLabelBackgroundAuto;
+    protected boolean isDataLayerCached = false;
+    private final LabelCache labelCache = new LabelCache();
 
     public AbstractChartRenderer(Context context, Chart chart) {
         this.density = context.getResources().getDisplayMetrics().density;
@@ -60,6 +62,11 @@ public abstract class AbstractChartRenderer implements ChartRenderer {
         this.calculator = chart.getChartCalculator();
     }
 
+    @Override
+    public void onChartDetachedFromWindow() {
+        // Nothing to release by default.
+    }
+
     @Override
     public void onChartDataChanged() {
         final ChartData data = chart.getChartData();
@@ -77,6 +84,9 @@ public abstract class AbstractChartRenderer implements ChartRenderer {
         this.isValueLabelBackgroundAuto = data.isValueLabelBackgroundAuto();
         this.labelBackgroundPaint.setColor(data.getValueLabelBackgroundColor());
 
+        // Formatters could have changed too.
+        labelCache.clear();
+
         // Important - clear selection when data changed.
         selectedValue.clear();
 
@@ -108,6 +118,13 @@ public abstract class AbstractChartRenderer implements ChartRenderer {
         canvas.drawText(labelBuffer, startIndex, numChars, textX, textY, labelPaint);
     }
 
+    /**
+     * Returns width of label text measured with labelPaint, widths of recently drawn labels are cached.
+     */
+    protected float measureLabel(char[] labelBuffer, int startIndex, int numChars) {
+        return labelCache.measureText(labelPaint, labelBuffer, startIndex, numChars);
+    }
+
     @Override
     public boolean isTouched() {
         return selectedValue.isSet();
@@ -162,6 +179,22 @@ public abstract class AbstractChartRenderer implements ChartRenderer {
         return selectedValue;
     }
 
+    /**
+     * @see #setDataLayerCached(boolean)
+     */
+    public boolean isDataLayerCached() {
+        return isDataLayerCached;
+    }
+
+    /**
+     * Set true to record chart values drawn without selection highlight and replay them while viewport and data
+     * don't change, so touching values doesn't draw all of them again. Values have to be changed through chart data
+     * methods or set again after they were modified in place, otherwise old values are replayed.
+     */
+    public void setDataLayerCached(boolean isDataLayerCached) {
+        this.isDataLayerCached = isDataLayerCached;
+    }
+
     @Override
     public void setLabelMargin(int labelMargin) {
         this.labelMargin = labelMargin;
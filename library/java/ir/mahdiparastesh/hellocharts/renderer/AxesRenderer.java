@@ -9,6 +9,9 @@ import android.graphics.Rect;
 import android.graphics.Typeface;
 import android.text.TextUtils;
 
+import java.util.Arrays;
+import java.util.List;
+
 import ir.mahdiparastesh.hellocharts.calculator.ChartCalculator;
 import ir.mahdiparastesh.hellocharts.model.Axis;
 import ir.mahdiparastesh.hellocharts.model.AxisValue;
@@ -62,6 +65,10 @@ public class AxesRenderer {
      * Holds formatted axis value label.
      */
     private final char[] labelBuffer = new char[64];
+    /**
+     * Formatted labels of auto-generated axes, they are mostly the same between frames.
+     */
+    private final LabelCache labelCache = new LabelCache();
 
     /**
      * Holds number of values that should be drown for each axis.
@@ -84,6 +91,14 @@ public class AxesRenderer {
      */
     private final AxisValue[][] valuesToDrawTab = new AxisValue[4][0];
 
+    /**
+     * Values of custom axes sorted in ascending order and indexes of their AxisValue objects, rebuilt when values
+     * list of the axis is replaced or its size changes. Used only for custom axes.
+     */
+    private final float[][] sortedValuesTab = new float[4][0];
+    private final int[][] sortedIndexesTab = new int[4][0];
+    private final Object[] sortedValuesListTab = new Object[4];
+
     /**
      * Buffers for axes lines coordinates(to draw grid in the background).
      */
@@ -116,6 +131,9 @@ public class AxesRenderer {
     }
 
     public void onChartDataChanged() {
+        // Formatters and custom values of axes could have changed.
+        labelCache.clear();
+        Arrays.fill(sortedValuesListTab, null);
         onChartDataOrSizeChanged();
     }
 
@@ -379,70 +397,125 @@ public class AxesRenderer {
     }
 
     private void prepareCustomAxis(Axis axis, int position) {
-        final Viewport maxViewport = calculator.getMaximumViewport();
         final Viewport visibleViewport = calculator.getVisibleViewport();
         final Rect contentRect = calculator.getContentRectMinusAllMargins();
         boolean isAxisVertical = isAxisVertical(position);
         float viewportMin, viewportMax;
-        float scale = 1;
+        int contentRectDimension;
         if (isAxisVertical) {
-            if (maxViewport.height() > 0 && visibleViewport.height() > 0) {
-                scale = contentRect.height() * (maxViewport.height() / visibleViewport.height());
-            }
             viewportMin = visibleViewport.bottom;
             viewportMax = visibleViewport.top;
+            contentRectDimension = contentRect.height();
         } else {
-            if (maxViewport.width() > 0 && visibleViewport.width() > 0) {
-                scale = contentRect.width() * (maxViewport.width() / visibleViewport.width());
-            }
             viewportMin = visibleViewport.left;
             viewportMax = visibleViewport.right;
+            contentRectDimension = contentRect.width();
         }
-        if (scale == 0) {
-            scale = 1;
+        if (contentRectDimension <= 0) {
+            contentRectDimension = 1;
         }
+        prepareSortedValues(axis, position);
+        final float[] sortedValues = sortedValuesTab[position];
+        final int[] sortedIndexes = sortedIndexesTab[position];
+        // Only values within visible viewport are processed.
+        final int firstVisible = findFirstValueAbove(sortedValues, viewportMin, true);
+        final int visibleCount = findFirstValueAbove(sortedValues, viewportMax, false) - firstVisible;
         int module = (int) Math.max(1,
-                Math.ceil((axis.getValues().size() * labelDimensionForStepsTab[position] * 1.5) / scale));
+                Math.ceil((visibleCount * labelDimensionForStepsTab[position] * 1.5) / contentRectDimension));
+        final int maxValuesToDraw = (visibleCount + module - 1) / module;
         //Reinitialize tab to hold lines coordinates.
-        if (axis.hasLines() && (linesDrawBufferTab[position].length < axis.getValues().size() * 4)) {
-            linesDrawBufferTab[position] = new float[axis.getValues().size() * 4];
+        if (axis.hasLines() && (linesDrawBufferTab[position].length < maxValuesToDraw * 4)) {
+            linesDrawBufferTab[position] = new float[maxValuesToDraw * 4];
         }
         //Reinitialize tabs to hold all raw values to draw.
-        if (rawValuesTab[position].length < axis.getValues().size()) {
-            rawValuesTab[position] = new float[axis.getValues().size()];
+        if (rawValuesTab[position].length < maxValuesToDraw) {
+            rawValuesTab[position] = new float[maxValuesToDraw];
         }
         //Reinitialize tabs to hold all raw values to draw.
-        if (valuesToDrawTab[position].length < axis.getValues().size()) {
-            valuesToDrawTab[position] = new AxisValue[axis.getValues().size()];
+        if (valuesToDrawTab[position].length < maxValuesToDraw) {
+            valuesToDrawTab[position] = new AxisValue[maxValuesToDraw];
         }
 
         float rawValue;
-        int valueIndex = 0;
         int valueToDrawIndex = 0;
-        for (AxisValue axisValue : axis.getValues()) {
-            // Draw axis values that are within visible viewport.
-            final float value = axisValue.getValue();
-            if (value >= viewportMin && value <= viewportMax) {
-                // Draw axis values that have 0 module value, this will hide some labels if there is no place for them.
-                if (0 == valueIndex % module) {
-                    if (isAxisVertical) {
-                        rawValue = calculator.computeRawY(value);
-                    } else {
-                        rawValue = calculator.computeRawX(value);
-                    }
-                    if (checkRawValue(contentRect, rawValue, axis.isInside(), position, isAxisVertical)) {
-                        rawValuesTab[position][valueToDrawIndex] = rawValue;
-                        valuesToDrawTab[position][valueToDrawIndex] = axisValue;
-                        ++valueToDrawIndex;
-                    }
-                }
-                // If within viewport - increment valueIndex;
-                ++valueIndex;
+        // Draw axis values that have 0 module value, this will hide some labels if there is no place for them.
+        for (int valueIndex = 0; valueIndex < visibleCount; valueIndex += module) {
+            final float value = sortedValues[firstVisible + valueIndex];
+            if (isAxisVertical) {
+                rawValue = calculator.computeRawY(value);
+            } else {
+                rawValue = calculator.computeRawX(value);
+            }
+            if (checkRawValue(contentRect, rawValue, axis.isInside(), position, isAxisVertical)) {
+                rawValuesTab[position][valueToDrawIndex] = rawValue;
+                valuesToDrawTab[position][valueToDrawIndex] = axis.getValues().get(sortedIndexes[firstVisible
+                        + valueIndex]);
+                ++valueToDrawIndex;
             }
         }
         valuesToDrawNumTab[position] = valueToDrawIndex;
     }
 
+    /**
+     * Sorts values of given custom axis if its values list was replaced or its size changed since they were sorted.
+     * Values changed in place are noticed when chart data is set again.
+     */
+    private void prepareSortedValues(Axis axis, int position) {
+        final List<AxisValue> values = axis.getValues();
+        if (sortedValuesListTab[position] == values && sortedValuesTab[position].length == values.size()) {
+            return;
+        }
+        final int size = values.size();
+        final float[] sortedValues = new float[size];
+        final int[] sortedIndexes = new int[size];
+        boolean isSorted = true;
+        int index = 0;
+        for (AxisValue axisValue : values) {
+            sortedValues[index] = axisValue.getValue();
+            sortedIndexes[index] = index;
+            if (index > 0 && !(sortedValues[index] >= sortedValues[index - 1])) {
+                isSorted = false;
+            }
+            ++index;
+        }
+        if (!isSorted) {
+            // Value is packed in high bits in a way that keeps its order, index is kept in low bits.
+            final long[] keys = new long[size];
+            for (int i = 0; i < size; ++i) {
+                int bits = Float.floatToIntBits(sortedValues[i]);
+                bits ^= (bits >> 31) & 0x7fffffff;
+                keys[i] = ((long) bits << 32) | i;
+            }
+            Arrays.sort(keys);
+            for (int i = 0; i < size; ++i) {
+                sortedIndexes[i] = (int) keys[i];
+                sortedValues[i] = values.get(sortedIndexes[i]).getValue();
+            }
+        }
+        sortedValuesTab[position] = sortedValues;
+        sortedIndexesTab[position] = sortedIndexes;
+        sortedValuesListTab[position] = values;
+    }
+
+    /**
+     * Returns index of the first of sorted values that is bigger than given value, or equal to it if inclusive is
+     * true. NaN values are sorted to the end and treated as bigger than any value.
+     */
+    private static int findFirstValueAbove(float[] sortedValues, float value, boolean inclusive) {
+        int low = 0;
+        int high = sortedValues.length;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            final float middleValue = sortedValues[middle];
+            if (inclusive ? middleValue < value : middleValue <= value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
     private void prepareAutoGeneratedAxis(Axis axis, int position) {
         final Viewport visibleViewport = calculator.getVisibleViewport();
         final Rect contentRect = calculator.getContentRectMinusAllMargins();
@@ -473,17 +546,19 @@ public class AxesRenderer {
             autoValuesToDrawTab[position] = new float[autoValuesBufferTab[position].valuesNumber];
         }
 
-        float rawValue;
+        final AxisAutoValues autoValues = autoValuesBufferTab[position];
+        if (isAxisVertical) {
+            calculator.computeRawY(autoValues.values, 0, rawValuesTab[position], autoValues.valuesNumber);
+        } else {
+            calculator.computeRawX(autoValues.values, 0, rawValuesTab[position], autoValues.valuesNumber);
+        }
+        // Values that are not drawn are skipped, raw values are moved towards the beginning of the same array.
         int valueToDrawIndex = 0;
-        for (int i = 0; i < autoValuesBufferTab[position].valuesNumber; ++i) {
-            if (isAxisVertical) {
-                rawValue = calculator.computeRawY(autoValuesBufferTab[position].values[i]);
-            } else {
-                rawValue = calculator.computeRawX(autoValuesBufferTab[position].values[i]);
-            }
+        for (int i = 0; i < autoValues.valuesNumber; ++i) {
+            final float rawValue = rawValuesTab[position][i];
             if (checkRawValue(contentRect, rawValue, axis.isInside(), position, isAxisVertical)) {
                 rawValuesTab[position][valueToDrawIndex] = rawValue;
-                autoValuesToDrawTab[position][valueToDrawIndex] = autoValuesBufferTab[position].values[i];
+                autoValuesToDrawTab[position][valueToDrawIndex] = autoValues.values[i];
                 ++valueToDrawIndex;
             }
         }
@@ -560,7 +635,7 @@ public class AxesRenderer {
             int charsNumber;
             if (axis.isAutoGenerated()) {
                 final float value = autoValuesToDrawTab[position][valueToDrawIndex];
-                charsNumber = axis.getFormatter().formatValueForAutoGeneratedAxis(labelBuffer, value,
+                charsNumber = labelCache.formatValueForAutoGeneratedAxis(axis.getFormatter(), labelBuffer, value,
                         autoValuesBufferTab[position].decimals);
             } else {
                 AxisValue axisValue = valuesToDrawTab[position][valueToDrawIndex];
@@ -7,6 +7,8 @@ import android.graphics.PointF;
 import android.graphics.Rect;
 import android.graphics.RectF;
 
+import java.util.List;
+
 import ir.mahdiparastesh.hellocharts.calculator.ChartCalculator;
 import ir.mahdiparastesh.hellocharts.formatter.BubbleChartValueFormatter;
 import ir.mahdiparastesh.hellocharts.model.BubbleChartData;
@@ -64,6 +66,7 @@ public class BubbleChartRenderer extends AbstractChartRenderer {
     private boolean hasLabelsOnlyForSelected;
     private BubbleChartValueFormatter valueFormatter;
     private final Viewport tempMaximumViewport = new Viewport();
+    private final DataLayerCache dataLayerCache = new DataLayerCache();
 
     public BubbleChartRenderer(Context context, Chart chart, BubbleChartDataProvider dataProvider) {
         super(context, chart);
@@ -89,12 +92,16 @@ public class BubbleChartRenderer extends AbstractChartRenderer {
         this.hasLabels = data.hasLabels();
         this.hasLabelsOnlyForSelected = data.hasLabelsOnlyForSelected();
         this.valueFormatter = data.getFormatter();
+        // Values could have been modified in place before data was set again.
+        data.notifyValuesChanged();
 
         onChartViewportChanged();
     }
 
     @Override
     public void onChartViewportChanged() {
+        // Called also for every frame of data animation.
+        dataLayerCache.invalidate();
         if (isViewportCalculationEnabled) {
             calculateMaxViewport();
             calculator.setMaxViewport(tempMaximumViewport);
@@ -104,7 +111,13 @@ public class BubbleChartRenderer extends AbstractChartRenderer {
 
     @Override
     public void draw(Canvas canvas) {
-        drawBubbles(canvas);
+        final Canvas layerCanvas = isDataLayerCached ? dataLayerCache.beginDraw(canvas, calculator, 0) : canvas;
+        if (null != layerCanvas) {
+            drawBubbles(layerCanvas);
+            if (isDataLayerCached) {
+                dataLayerCache.endDraw(canvas);
+            }
+        }
         if (isTouched()) {
             highlightBubbles(canvas);
         }
@@ -117,9 +130,9 @@ public class BubbleChartRenderer extends AbstractChartRenderer {
     @Override
     public boolean checkTouch(float touchX, float touchY) {
         selectedValue.clear();
-        final BubbleChartData data = dataProvider.getBubbleChartData();
-        int valueIndex = 0;
-        for (BubbleValue bubbleValue : data.getValues()) {
+        final List<BubbleValue> values = dataProvider.getBubbleChartData().getValues();
+        for (int valueIndex = 0; valueIndex < values.size(); ++valueIndex) {
+            final BubbleValue bubbleValue = values.get(valueIndex);
             float rawRadius = processBubble(bubbleValue);
 
             if (ValueShape.SQUARE.equals(bubbleValue.getShape())) {
@@ -137,8 +150,6 @@ public class BubbleChartRenderer extends AbstractChartRenderer {
             } else {
                 throw new IllegalArgumentException("Invalid bubble shape: " + bubbleValue.getShape());
             }
-
-            ++valueIndex;
         }
 
         return isTouched();
@@ -178,9 +189,9 @@ public class BubbleChartRenderer extends AbstractChartRenderer {
     }
 
     private void drawBubbles(Canvas canvas) {
-        final BubbleChartData data = dataProvider.getBubbleChartData();
-        for (BubbleValue bubbleValue : data.getValues()) {
-            drawBubble(canvas, bubbleValue);
+        final List<BubbleValue> values = dataProvider.getBubbleChartData().getValues();
+        for (int i = 0; i < values.size(); ++i) {
+            drawBubble(canvas, values.get(i));
         }
     }
 
@@ -265,7 +276,7 @@ public class BubbleChartRenderer extends AbstractChartRenderer {
             return;
         }
 
-        final float labelWidth = labelPaint.measureText(labelBuffer, labelBuffer.length - numChars, numChars);
+        final float labelWidth = measureLabel(labelBuffer, labelBuffer.length - numChars, numChars);
         final int labelHeight = Math.abs(fontMetrics.ascent);
         float left = rawX - labelWidth / 2 - labelMargin;
         float right = rawX + labelWidth / 2 + labelMargin;
@@ -299,23 +310,22 @@ public class BubbleChartRenderer extends AbstractChartRenderer {
         float maxZ = Float.MIN_VALUE;
         tempMaximumViewport.set(Float.MAX_VALUE, Float.MIN_VALUE, Float.MIN_VALUE, Float.MAX_VALUE);
         BubbleChartData data = dataProvider.getBubbleChartData();
-        // TODO: Optimize.
-        for (BubbleValue bubbleValue : data.getValues()) {
-            if (Math.abs(bubbleValue.getZ()) > maxZ) {
-                maxZ = Math.abs(bubbleValue.getZ());
-            }
-            if (bubbleValue.getX() < tempMaximumViewport.left) {
-                tempMaximumViewport.left = bubbleValue.getX();
-            }
-            if (bubbleValue.getX() > tempMaximumViewport.right) {
-                tempMaximumViewport.right = bubbleValue.getX();
-            }
-            if (bubbleValue.getY() < tempMaximumViewport.bottom) {
-                tempMaximumViewport.bottom = bubbleValue.getY();
-            }
-            if (bubbleValue.getY() > tempMaximumViewport.top) {
-                tempMaximumViewport.top = bubbleValue.getY();
-            }
+        // Bounds are cached by data so values are scanned only when they change.
+        final Viewport bounds = data.getValuesBounds();
+        if (data.getValuesMaxAbsZ() > maxZ) {
+            maxZ = data.getValuesMaxAbsZ();
+        }
+        if (bounds.left < tempMaximumViewport.left) {
+            tempMaximumViewport.left = bounds.left;
+        }
+        if (bounds.right > tempMaximumViewport.right) {
+            tempMaximumViewport.right = bounds.right;
+        }
+        if (bounds.bottom < tempMaximumViewport.bottom) {
+            tempMaximumViewport.bottom = bounds.bottom;
+        }
+        if (bounds.top > tempMaximumViewport.top) {
+            tempMaximumViewport.top = bounds.top;
         }
 
         maxRadius = (float) Math.sqrt(maxZ / Math.PI);
@@ -5,6 +5,11 @@ import android.graphics.Canvas;
 import ir.mahdiparastesh.hellocharts.model.SelectedValue;
 import ir.mahdiparastesh.hellocharts.model.Viewport;
 
+/**
+ * Draws chart data and handles touches of chart values. Once data and size stopped changing,
+ * {@link #draw(Canvas)}, {@link #drawUnClipped(Canvas)} and {@link #checkTouch(float, float)} must not allocate, also
+ * in frames of scroll and zoom, which have to reuse buffers grown in earlier frames.
+ */
 public interface ChartRenderer {
 
     void onChartSizeChanged();
@@ -15,6 +20,12 @@ public interface ChartRenderer {
 
     void resetRenderer();
 
+    /**
+     * Called when chart view is detached from window, renderer should release threads and big buffers it can create
+     * again when chart is drawn next time.
+     */
+    void onChartDetachedFromWindow();
+
     void draw(Canvas canvas);
 
     /**
@@ -0,0 +1,50 @@
+package ir.mahdiparastesh.hellocharts.renderer;
+
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.RectF;
+
+/**
+ * Collects rects grouped by color into one path per color and draws every group with a single
+ * {@link Canvas#drawPath} call, so rects keep anti-aliasing of the paint. Groups are drawn in order of their first
+ * rect, so rects must not overlap. If more colors than {@link #MAX_COLORS} are used all groups are drawn and collecting
+ * starts again. Paths are rewound instead of being recreated, so their storage is reused between frames.
+ */
+class ColorRectBatch {
+    private static final int MAX_COLORS = 16;
+    private final int[] colors = new int[MAX_COLORS];
+    private final Path[] paths = new Path[MAX_COLORS];
+    private int colorsCount;
+
+    void add(Canvas canvas, Paint paint, int color, RectF rect) {
+        int group = 0;
+        while (group < colorsCount && colors[group] != color) {
+            ++group;
+        }
+        if (group == MAX_COLORS) {
+            draw(canvas, paint);
+            group = 0;
+        }
+        if (group == colorsCount) {
+            if (null == paths[group]) {
+                paths[group] = new Path();
+            }
+            colors[group] = color;
+            ++colorsCount;
+        }
+        paths[group].addRect(rect, Path.Direction.CW);
+    }
+
+    /**
+     * Draws collected rects with given paint, its color is changed to color of every group.
+     */
+    void draw(Canvas canvas, Paint paint) {
+        for (int group = 0; group < colorsCount; ++group) {
+            paint.setColor(colors[group]);
+            canvas.drawPath(paths[group], paint);
+            paths[group].rewind();
+        }
+        colorsCount = 0;
+    }
+}
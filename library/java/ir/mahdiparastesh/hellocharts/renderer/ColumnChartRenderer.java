@@ -5,10 +5,14 @@ import android.graphics.Canvas;
 import android.graphics.Paint;
 import android.graphics.Paint.Cap;
 import android.graphics.PointF;
+import android.graphics.Rect;
 import android.graphics.RectF;
 
+import java.util.List;
+
 import ir.mahdiparastesh.hellocharts.model.Column;
 import ir.mahdiparastesh.hellocharts.model.ColumnChartData;
+import ir.mahdiparastesh.hellocharts.model.ColumnMatrix;
 import ir.mahdiparastesh.hellocharts.model.SelectedValue.SelectedValueType;
 import ir.mahdiparastesh.hellocharts.model.SubColumnValue;
 import ir.mahdiparastesh.hellocharts.model.Viewport;
@@ -24,8 +28,9 @@ public class ColumnChartRenderer extends AbstractChartRenderer {
     public static final int DEFAULT_COLUMN_TOUCH_ADDITIONAL_WIDTH_DP = 4;
 
     private static final int MODE_DRAW = 0;
-    private static final int MODE_CHECK_TOUCH = 1;
-    private static final int MODE_HIGHLIGHT = 2;
+    private static final int MODE_HIGHLIGHT = 1;
+    private static final int MODE_DRAW_BATCHED = 2;
+    private static final int MODE_DRAW_LABELS = 3;
 
     private final ColumnChartDataProvider dataProvider;
 
@@ -49,6 +54,11 @@ public class ColumnChartRenderer extends AbstractChartRenderer {
      */
     private final RectF drawRect = new RectF();
 
+    /**
+     * Collects drawn rects by color, see {@link #calculateDrawMode(float)}.
+     */
+    private final ColorRectBatch rectBatch = new ColorRectBatch();
+
     /**
      * Coordinated of user tauch.
      */
@@ -59,6 +69,28 @@ public class ColumnChartRenderer extends AbstractChartRenderer {
     private float baseValue;
 
     private final Viewport tempMaximumViewport = new Viewport();
+    private final DataLayerCache dataLayerCache = new DataLayerCache();
+    /**
+     * Column filled with values of currently processed column of {@link ColumnMatrix}.
+     */
+    private final Column tempColumn = new Column();
+    /**
+     * Range of columns that can be visible in current viewport, calculated by
+     * {@link #calculateVisibleColumnsRange(int, float)}.
+     */
+    private int firstVisibleColumn;
+    private int lastVisibleColumn;
+    /**
+     * Width of the widest label background drawn since data was set, labels are centered on their sub-column and can
+     * be wider than the column.
+     */
+    private float maxLabelWidth;
+    /**
+     * Range of columns whose rect can contain touched point, calculated by
+     * {@link #calculateTouchedColumnsRange(int, float, float)}.
+     */
+    private int firstTouchedColumn;
+    private int lastTouchedColumn;
 
     public ColumnChartRenderer(Context context, Chart chart, ColumnChartDataProvider dataProvider) {
         super(context, chart);
@@ -81,12 +113,21 @@ public class ColumnChartRenderer extends AbstractChartRenderer {
         ColumnChartData data = dataProvider.getColumnChartData();
         fillRatio = data.getFillRatio();
         baseValue = data.getBaseValue();
+        maxLabelWidth = 0;
+        if (null == data.getMatrix()) {
+            for (Column column : data.getColumns()) {
+                // Values could have been modified in place before data was set again.
+                column.notifyValuesChanged();
+            }
+        }
 
         onChartViewportChanged();
     }
 
     @Override
     public void onChartViewportChanged() {
+        // Called also for every frame of data animation.
+        dataLayerCache.invalidate();
         if (isViewportCalculationEnabled) {
             calculateMaxViewport();
             calculator.setMaxViewport(tempMaximumViewport);
@@ -96,14 +137,23 @@ public class ColumnChartRenderer extends AbstractChartRenderer {
 
     public void draw(Canvas canvas) {
         final ColumnChartData data = dataProvider.getColumnChartData();
-        if (data.isStacked()) {
-            drawColumnForStacked(canvas);
-            if (isTouched()) {
-                highlightColumnForStacked(canvas);
+        // Values of matrix can be set without notifying renderer.
+        final long stamp = null != data.getMatrix() ? data.getMatrix().getModificationCount() : 0;
+        final Canvas layerCanvas = isDataLayerCached ? dataLayerCache.beginDraw(canvas, calculator, stamp) : canvas;
+        if (null != layerCanvas) {
+            if (data.isStacked()) {
+                drawColumnForStacked(layerCanvas);
+            } else {
+                drawColumnsForSubColumns(layerCanvas);
             }
-        } else {
-            drawColumnsForSubColumns(canvas);
-            if (isTouched()) {
+            if (isDataLayerCached) {
+                dataLayerCache.endDraw(canvas);
+            }
+        }
+        if (isTouched()) {
+            if (data.isStacked()) {
+                highlightColumnForStacked(canvas);
+            } else {
                 highlightColumnsForSubColumns(canvas);
             }
         }
@@ -131,7 +181,14 @@ public class ColumnChartRenderer extends AbstractChartRenderer {
         // extra 0.5 to the each side, that margins will be negative scaled according to number of columns, so for more
         // columns there will be less margin.
         tempMaximumViewport.set(-0.5f, baseValue, data.getColumns().size() - 0.5f, baseValue);
-        if (data.isStacked()) {
+        final ColumnMatrix matrix = data.getMatrix();
+        if (null != matrix) {
+            // Matrix caches extents of all columns.
+            tempMaximumViewport.top = Math.max(tempMaximumViewport.top, matrix.getValuesTop(baseValue,
+                    data.isStacked()));
+            tempMaximumViewport.bottom = Math.min(tempMaximumViewport.bottom, matrix.getValuesBottom(baseValue,
+                    data.isStacked()));
+        } else if (data.isStacked()) {
             calculateMaxViewportForStacked(data);
         } else {
             calculateMaxViewportForSubColumns(data);
@@ -140,28 +197,21 @@ public class ColumnChartRenderer extends AbstractChartRenderer {
 
     private void calculateMaxViewportForSubColumns(ColumnChartData data) {
         for (Column column : data.getColumns()) {
-            for (SubColumnValue columnValue : column.getValues()) {
-                if (columnValue.getValue() >= baseValue && columnValue.getValue() > tempMaximumViewport.top) {
-                    tempMaximumViewport.top = columnValue.getValue();
-                }
-                if (columnValue.getValue() < baseValue && columnValue.getValue() < tempMaximumViewport.bottom) {
-                    tempMaximumViewport.bottom = columnValue.getValue();
-                }
+            final float top = column.getValuesTop(baseValue, false);
+            final float bottom = column.getValuesBottom(baseValue, false);
+            if (top > tempMaximumViewport.top) {
+                tempMaximumViewport.top = top;
+            }
+            if (bottom < tempMaximumViewport.bottom) {
+                tempMaximumViewport.bottom = bottom;
             }
         }
     }
 
     private void calculateMaxViewportForStacked(ColumnChartData data) {
         for (Column column : data.getColumns()) {
-            float sumPositive = baseValue;
-            float sumNegative = baseValue;
-            for (SubColumnValue columnValue : column.getValues()) {
-                if (columnValue.getValue() >= baseValue) {
-                    sumPositive += columnValue.getValue();
-                } else {
-                    sumNegative += columnValue.getValue();
-                }
-            }
+            final float sumPositive = column.getValuesTop(baseValue, true);
+            final float sumNegative = column.getValuesBottom(baseValue, true);
             if (sumPositive > tempMaximumViewport.top) {
                 tempMaximumViewport.top = sumPositive;
             }
@@ -174,17 +224,27 @@ public class ColumnChartRenderer extends AbstractChartRenderer {
     private void drawColumnsForSubColumns(Canvas canvas) {
         final ColumnChartData data = dataProvider.getColumnChartData();
         final float columnWidth = calculateColumnWidth();
-        int columnIndex = 0;
-        for (Column column : data.getColumns()) {
-            processColumnForSubColumns(canvas, column, columnWidth, columnIndex, MODE_DRAW);
-            ++columnIndex;
+        calculateVisibleColumnsRange(data.getColumns().size(), columnWidth);
+        final int mode = calculateDrawMode(columnWidth);
+        for (int columnIndex = firstVisibleColumn; columnIndex <= lastVisibleColumn; ++columnIndex) {
+            processColumnForSubColumns(canvas, obtainColumn(data, columnIndex), columnWidth, columnIndex, mode);
+        }
+        if (MODE_DRAW_BATCHED == mode) {
+            rectBatch.draw(canvas, columnPaint);
+            // Labels are drawn above all columns.
+            for (int columnIndex = firstVisibleColumn; columnIndex <= lastVisibleColumn; ++columnIndex) {
+                final Column column = obtainColumn(data, columnIndex);
+                if (column.hasLabels()) {
+                    processColumnForSubColumns(canvas, column, columnWidth, columnIndex, MODE_DRAW_LABELS);
+                }
+            }
         }
     }
 
     private void highlightColumnsForSubColumns(Canvas canvas) {
         final ColumnChartData data = dataProvider.getColumnChartData();
         final float columnWidth = calculateColumnWidth();
-        Column column = data.getColumns().get(selectedValue.getFirstIndex());
+        Column column = obtainColumn(data, selectedValue.getFirstIndex());
         processColumnForSubColumns(canvas, column, columnWidth, selectedValue.getFirstIndex(), MODE_HIGHLIGHT);
     }
 
@@ -194,11 +254,37 @@ public class ColumnChartRenderer extends AbstractChartRenderer {
         touchedPoint.y = touchY;
         final ColumnChartData data = dataProvider.getColumnChartData();
         final float columnWidth = calculateColumnWidth();
-        int columnIndex = 0;
-        for (Column column : data.getColumns()) {
-            // canvas is not needed for checking touch
-            processColumnForSubColumns(null, column, columnWidth, columnIndex, MODE_CHECK_TOUCH);
-            ++columnIndex;
+        calculateTouchedColumnsRange(data.getColumns().size(), touchX, columnWidth);
+        for (int columnIndex = firstTouchedColumn; columnIndex <= lastTouchedColumn; ++columnIndex) {
+            checkTouchForSubColumns(obtainColumn(data, columnIndex), columnWidth, columnIndex);
+        }
+    }
+
+    /**
+     * Checks only sub-columns next to the slot that touched point falls into, rects are calculated the same way as
+     * in {@link #processColumnForSubColumns(Canvas, Column, float, int, int)}.
+     */
+    private void checkTouchForSubColumns(Column column, float columnWidth, int columnIndex) {
+        final List<SubColumnValue> values = column.getValues();
+        float subColumnWidth = (columnWidth - (subColumnSpacing * (values.size() - 1))) / values.size();
+        if (subColumnWidth < 1) {
+            subColumnWidth = 1;
+        }
+        final float rawX = calculator.computeRawX(columnIndex);
+        final float halfColumnWidth = columnWidth / 2;
+        final float baseRawY = calculator.computeRawY(baseValue);
+        final float slotWidth = subColumnWidth + subColumnSpacing;
+        final int slot = (int) Math.floor((touchedPoint.x - (rawX - halfColumnWidth)) / slotWidth);
+        final int lastValueIndex = Math.min(values.size() - 1, slot + 1);
+        for (int valueIndex = Math.max(0, slot - 1); valueIndex <= lastValueIndex; ++valueIndex) {
+            final float subColumnRawX = rawX - halfColumnWidth + valueIndex * slotWidth;
+            if (subColumnRawX > rawX + halfColumnWidth) {
+                break;
+            }
+            final SubColumnValue columnValue = values.get(valueIndex);
+            final float rawY = calculator.computeRawY(columnValue.getValue());
+            calculateRectToDraw(columnValue, subColumnRawX, subColumnRawX + subColumnWidth, baseRawY, rawY);
+            checkRectToDraw(columnIndex, valueIndex);
         }
     }
 
@@ -218,9 +304,9 @@ public class ColumnChartRenderer extends AbstractChartRenderer {
         // First subColumn will starts at the left edge of current column,
         // rawValueX is horizontal center of that column
         float subColumnRawX = rawX - halfColumnWidth;
-        int valueIndex = 0;
-        for (SubColumnValue columnValue : column.getValues()) {
-            columnPaint.setColor(columnValue.getColor());
+        final List<SubColumnValue> values = column.getValues();
+        for (int valueIndex = 0; valueIndex < values.size(); ++valueIndex) {
+            final SubColumnValue columnValue = values.get(valueIndex);
             if (subColumnRawX > rawX + halfColumnWidth) {
                 break;
             }
@@ -228,16 +314,16 @@ public class ColumnChartRenderer extends AbstractChartRenderer {
             calculateRectToDraw(columnValue, subColumnRawX, subColumnRawX + subColumnWidth, baseRawY, rawY);
             switch (mode) {
                 case MODE_DRAW -> drawSubColumn(canvas, column, columnValue, false);
+                case MODE_DRAW_BATCHED -> rectBatch.add(canvas, columnPaint, columnValue.getColor(), drawRect);
+                case MODE_DRAW_LABELS -> drawLabel(canvas, column, columnValue, false, labelOffset);
                 case MODE_HIGHLIGHT ->
                         highlightSubColumn(canvas, column, columnValue, valueIndex, false);
-                case MODE_CHECK_TOUCH -> checkRectToDraw(columnIndex, valueIndex);
                 default ->
                     // There no else, every case should be handled or exception will
                     // be thrown
                         throw new IllegalStateException("Cannot process column in mode: " + mode);
             }
             subColumnRawX += subColumnWidth + subColumnSpacing;
-            ++valueIndex;
         }
     }
 
@@ -245,10 +331,20 @@ public class ColumnChartRenderer extends AbstractChartRenderer {
         final ColumnChartData data = dataProvider.getColumnChartData();
         final float columnWidth = calculateColumnWidth();
         // Columns are indexes from 0 to n, column index is also column X value
-        int columnIndex = 0;
-        for (Column column : data.getColumns()) {
-            processColumnForStacked(canvas, column, columnWidth, columnIndex, MODE_DRAW);
-            ++columnIndex;
+        calculateVisibleColumnsRange(data.getColumns().size(), columnWidth);
+        final int mode = calculateDrawMode(columnWidth);
+        for (int columnIndex = firstVisibleColumn; columnIndex <= lastVisibleColumn; ++columnIndex) {
+            processColumnForStacked(canvas, obtainColumn(data, columnIndex), columnWidth, columnIndex, mode);
+        }
+        if (MODE_DRAW_BATCHED == mode) {
+            rectBatch.draw(canvas, columnPaint);
+            // Labels are drawn above all columns.
+            for (int columnIndex = firstVisibleColumn; columnIndex <= lastVisibleColumn; ++columnIndex) {
+                final Column column = obtainColumn(data, columnIndex);
+                if (column.hasLabels()) {
+                    processColumnForStacked(canvas, column, columnWidth, columnIndex, MODE_DRAW_LABELS);
+                }
+            }
         }
     }
 
@@ -256,7 +352,7 @@ public class ColumnChartRenderer extends AbstractChartRenderer {
         final ColumnChartData data = dataProvider.getColumnChartData();
         final float columnWidth = calculateColumnWidth();
         // Columns are indexes from 0 to n, column index is also column X value
-        Column column = data.getColumns().get(selectedValue.getFirstIndex());
+        Column column = obtainColumn(data, selectedValue.getFirstIndex());
         processColumnForStacked(canvas, column, columnWidth, selectedValue.getFirstIndex(), MODE_HIGHLIGHT);
     }
 
@@ -265,50 +361,83 @@ public class ColumnChartRenderer extends AbstractChartRenderer {
         touchedPoint.y = touchY;
         final ColumnChartData data = dataProvider.getColumnChartData();
         final float columnWidth = calculateColumnWidth();
-        int columnIndex = 0;
-        for (Column column : data.getColumns()) {
-            // canvas is not needed for checking touch
-            processColumnForStacked(null, column, columnWidth, columnIndex, MODE_CHECK_TOUCH);
-            ++columnIndex;
+        calculateTouchedColumnsRange(data.getColumns().size(), touchX, columnWidth);
+        for (int columnIndex = firstTouchedColumn; columnIndex <= lastTouchedColumn; ++columnIndex) {
+            checkTouchForStacked(obtainColumn(data, columnIndex), columnWidth, columnIndex);
+        }
+    }
+
+    /**
+     * Finds sub-columns of stacked column whose segment contains touched point with binary search over prefix sums
+     * cached by column, one pixel above and below too for rounding. Only rects of found sub-columns are calculated, the
+     * same way as in {@link #processColumnForStacked(Canvas, Column, float, int, int)}.
+     */
+    private void checkTouchForStacked(Column column, float columnWidth, int columnIndex) {
+        final float rawX = calculator.computeRawX(columnIndex);
+        final float halfColumnWidth = columnWidth / 2;
+        if (touchedPoint.x < rawX - halfColumnWidth || touchedPoint.x >= rawX + halfColumnWidth) {
+            return;
+        }
+        final Viewport visibleViewport = calculator.getVisibleViewport();
+        final Rect contentRect = calculator.getContentRectMinusAllMargins();
+        final float valuesPerPixel = visibleViewport.height() / contentRect.height();
+        final float touchValueY = visibleViewport.bottom + (contentRect.bottom - touchedPoint.y) * valuesPerPixel;
+        final int below = column.findStackedValue(baseValue, touchValueY - valuesPerPixel);
+        final int at = column.findStackedValue(baseValue, touchValueY);
+        final int above = column.findStackedValue(baseValue, touchValueY + valuesPerPixel);
+        // Checked in order of indexes, so the same value wins as when all sub-columns were checked.
+        final int first = Math.min(below, Math.min(at, above));
+        final int last = Math.max(below, Math.max(at, above));
+        final int middle = below + at + above - first - last;
+        checkTouchForStackedValue(column, rawX, halfColumnWidth, columnIndex, first);
+        if (middle != first) {
+            checkTouchForStackedValue(column, rawX, halfColumnWidth, columnIndex, middle);
+        }
+        if (last != middle) {
+            checkTouchForStackedValue(column, rawX, halfColumnWidth, columnIndex, last);
+        }
+    }
+
+    private void checkTouchForStackedValue(Column column, float rawX, float halfColumnWidth, int columnIndex,
+                                           int valueIndex) {
+        if (valueIndex < 0) {
+            return;
         }
+        final SubColumnValue columnValue = column.getValues().get(valueIndex);
+        final float subColumnBaseValue = column.getStackedValueBottom(baseValue, valueIndex);
+        calculateRectToDraw(columnValue, rawX - halfColumnWidth, rawX + halfColumnWidth,
+                calculator.computeRawY(subColumnBaseValue),
+                calculator.computeRawY(subColumnBaseValue + columnValue.getValue()));
+        checkRectToDraw(columnIndex, valueIndex);
     }
 
     private void processColumnForStacked(Canvas canvas, Column column, float columnWidth, int columnIndex, int mode) {
         final float rawX = calculator.computeRawX(columnIndex);
         final float halfColumnWidth = columnWidth / 2;
-        float mostPositiveValue = baseValue;
-        float mostNegativeValue = baseValue;
-        float subColumnBaseValue;
-        int valueIndex = 0;
-        for (SubColumnValue columnValue : column.getValues()) {
-            columnPaint.setColor(columnValue.getColor());
-            if (columnValue.getValue() >= baseValue) {
-                // Using values instead of raw pixels make code easier to
-                // understand(for me)
-                subColumnBaseValue = mostPositiveValue;
-                mostPositiveValue += columnValue.getValue();
-            } else {
-                subColumnBaseValue = mostNegativeValue;
-                mostNegativeValue += columnValue.getValue();
-            }
+        final List<SubColumnValue> values = column.getValues();
+        for (int valueIndex = 0; valueIndex < values.size(); ++valueIndex) {
+            final SubColumnValue columnValue = values.get(valueIndex);
+            // Stacked sums are cached by column.
+            final float subColumnBaseValue = column.getStackedValueBottom(baseValue, valueIndex);
             final float rawBaseY = calculator.computeRawY(subColumnBaseValue);
             final float rawY = calculator.computeRawY(subColumnBaseValue + columnValue.getValue());
             calculateRectToDraw(columnValue, rawX - halfColumnWidth, rawX + halfColumnWidth, rawBaseY, rawY);
             switch (mode) {
                 case MODE_DRAW -> drawSubColumn(canvas, column, columnValue, true);
+                case MODE_DRAW_BATCHED -> rectBatch.add(canvas, columnPaint, columnValue.getColor(), drawRect);
+                case MODE_DRAW_LABELS -> drawLabel(canvas, column, columnValue, true, labelOffset);
                 case MODE_HIGHLIGHT ->
                         highlightSubColumn(canvas, column, columnValue, valueIndex, true);
-                case MODE_CHECK_TOUCH -> checkRectToDraw(columnIndex, valueIndex);
                 default ->
                     // There no else, every case should be handled or exception will
                     // be thrown
                         throw new IllegalStateException("Cannot process column in mode: " + mode);
             }
-            ++valueIndex;
         }
     }
 
     private void drawSubColumn(Canvas canvas, Column column, SubColumnValue columnValue, boolean isStacked) {
+        columnPaint.setColor(columnValue.getColor());
         canvas.drawRect(drawRect, columnPaint);
         if (column.hasLabels()) {
             drawLabel(canvas, column, columnValue, isStacked, labelOffset);
@@ -333,6 +462,61 @@ public class ColumnChartRenderer extends AbstractChartRenderer {
         }
     }
 
+    /**
+     * Columns are laid out at X equal to their index, so visible ones are those whose drawn extent reaches into visible
+     * viewport. Like touch handling it inverts projection to get half-width of that extent in values, which is the
+     * column width that can be clamped to the minimum, widened by sub-columns of minimal width that start at the right
+     * edge of column and then by highlight or by half of the widest label drawn, centered on its sub-column.
+     */
+    private void calculateVisibleColumnsRange(int columnsCount, float columnWidth) {
+        final Viewport visibleViewport = calculator.getVisibleViewport();
+        final Rect contentRect = calculator.getContentRectMinusAllMargins();
+        final float valuesPerPixel = visibleViewport.width() / contentRect.width();
+        final float halfRawExtent = columnWidth / 2 + 1 + Math.max(touchAdditionalWidth, maxLabelWidth / 2);
+        final float halfExtent = halfRawExtent * valuesPerPixel;
+        firstVisibleColumn = Math.max(0, (int) Math.ceil(visibleViewport.left - halfExtent));
+        lastVisibleColumn = Math.min(columnsCount - 1, (int) Math.floor(visibleViewport.right + halfExtent));
+    }
+
+    /**
+     * Inverts projection of touched X to find columns whose rect can contain it, with one more column on each side
+     * for rounding. That's a few columns unless columns of minimal width overlap.
+     */
+    private void calculateTouchedColumnsRange(int columnsCount, float touchX, float columnWidth) {
+        final Viewport visibleViewport = calculator.getVisibleViewport();
+        final Rect contentRect = calculator.getContentRectMinusAllMargins();
+        final float valuesPerPixel = visibleViewport.width() / contentRect.width();
+        final float touchValueX = visibleViewport.left + (touchX - contentRect.left) * valuesPerPixel;
+        final float halfColumnWidth = columnWidth / 2 * valuesPerPixel;
+        firstTouchedColumn = Math.max(0, (int) Math.ceil(touchValueX - halfColumnWidth) - 1);
+        lastTouchedColumn = Math.min(columnsCount - 1, (int) Math.floor(touchValueX + halfColumnWidth) + 1);
+    }
+
+    /**
+     * Returns column with given index, if data uses {@link ColumnMatrix} values are copied into reused column so
+     * drawing doesn't allocate.
+     */
+    private Column obtainColumn(ColumnChartData data, int columnIndex) {
+        final ColumnMatrix matrix = data.getMatrix();
+        if (null != matrix) {
+            return matrix.getColumn(columnIndex, tempColumn);
+        }
+        return data.getColumns().get(columnIndex);
+    }
+
+    /**
+     * Columns are batched by color only when they don't overlap, otherwise their order would change. Columns overlap
+     * only when their width was clamped to the minimum.
+     */
+    private int calculateDrawMode(float columnWidth) {
+        final float columnSpacing = calculator.getContentRectMinusAllMargins().width()
+                / calculator.getVisibleViewport().width();
+        if (columnWidth <= columnSpacing) {
+            return MODE_DRAW_BATCHED;
+        }
+        return MODE_DRAW;
+    }
+
     private float calculateColumnWidth() {
         // columnWidht should be at least 2 px
         float columnWidth = fillRatio * calculator.getContentRectMinusAllMargins().width() / calculator
@@ -364,10 +548,13 @@ public class ColumnChartRenderer extends AbstractChartRenderer {
             return;
         }
 
-        final float labelWidth = labelPaint.measureText(labelBuffer, labelBuffer.length - numChars, numChars);
+        final float labelWidth = measureLabel(labelBuffer, labelBuffer.length - numChars, numChars);
         final int labelHeight = Math.abs(fontMetrics.ascent);
         float left = drawRect.centerX() - labelWidth / 2 - labelMargin;
         float right = drawRect.centerX() + labelWidth / 2 + labelMargin;
+        if (right - left > maxLabelWidth) {
+            maxLabelWidth = right - left;
+        }
         float top;
         float bottom;
         if (isStacked && labelHeight < drawRect.height() - (2 * labelMargin)) {
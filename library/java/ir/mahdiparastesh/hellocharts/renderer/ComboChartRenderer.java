@@ -56,15 +56,15 @@ public class ComboChartRenderer extends AbstractChartRenderer {
     }
 
     public void draw(Canvas canvas) {
-        for (ChartRenderer renderer : renderers) {
-            renderer.draw(canvas);
+        for (int i = 0; i < renderers.size(); ++i) {
+            renderers.get(i).draw(canvas);
         }
     }
 
     @Override
     public void drawUnClipped(Canvas canvas) {
-        for (ChartRenderer renderer : renderers) {
-            renderer.drawUnClipped(canvas);
+        for (int i = 0; i < renderers.size(); ++i) {
+            renderers.get(i).drawUnClipped(canvas);
         }
     }
 
@@ -89,10 +89,30 @@ public class ComboChartRenderer extends AbstractChartRenderer {
         return isTouched();
     }
 
+    /**
+     * Sets the same option for all renderers of this chart.
+     */
     @Override
-    public void clearTouch() {
+    public void setDataLayerCached(boolean isDataLayerCached) {
+        super.setDataLayerCached(isDataLayerCached);
         for (ChartRenderer renderer : renderers) {
-            renderer.clearTouch();
+            if (renderer instanceof AbstractChartRenderer) {
+                ((AbstractChartRenderer) renderer).setDataLayerCached(isDataLayerCached);
+            }
+        }
+    }
+
+    @Override
+    public void onChartDetachedFromWindow() {
+        for (ChartRenderer renderer : renderers) {
+            renderer.onChartDetachedFromWindow();
+        }
+    }
+
+    @Override
+    public void clearTouch() {
+        for (int i = 0; i < renderers.size(); ++i) {
+            renderers.get(i).clearTouch();
         }
         selectedValue.clear();
     }
@@ -0,0 +1,78 @@
+package ir.mahdiparastesh.hellocharts.renderer;
+
+import android.graphics.Canvas;
+import android.graphics.Picture;
+import android.graphics.Rect;
+import android.os.Build;
+
+import ir.mahdiparastesh.hellocharts.calculator.ChartCalculator;
+import ir.mahdiparastesh.hellocharts.model.Viewport;
+
+/**
+ * Picture of chart values drawn without selection highlight, replayed instead of drawing values again as long as
+ * visible viewport, content rect and data stay the same. Picture is recorded only when the same frame is drawn twice
+ * in a row, so scrolling and animations don't pay for recording and frames that only change selected value replay it.
+ */
+class DataLayerCache {
+    private final Picture picture = new Picture();
+    private final Viewport viewport = new Viewport();
+    private final Rect contentRect = new Rect();
+    private long stamp;
+    private int canvasWidth;
+    private int canvasHeight;
+    private boolean isFrameValid;
+    private boolean isPictureValid;
+    private boolean isRecording;
+
+    /**
+     * Returns canvas on which values should be drawn followed by {@link #endDraw(Canvas)} call, or null if values
+     * were already drawn from recorded picture. Stamp should change every time drawn values change without
+     * {@link #invalidate()} being called.
+     */
+    Canvas beginDraw(Canvas canvas, ChartCalculator calculator, long stamp) {
+        final boolean isSameFrame = isFrameValid && this.stamp == stamp
+                && canvasWidth == canvas.getWidth() && canvasHeight == canvas.getHeight()
+                && viewport.equals(calculator.getVisibleViewport())
+                && contentRect.equals(calculator.getContentRectMinusAllMargins());
+        if (isSameFrame && isPictureValid) {
+            canvas.drawPicture(picture);
+            return null;
+        }
+        this.stamp = stamp;
+        canvasWidth = canvas.getWidth();
+        canvasHeight = canvas.getHeight();
+        viewport.set(calculator.getVisibleViewport());
+        contentRect.set(calculator.getContentRectMinusAllMargins());
+        isFrameValid = true;
+        isPictureValid = false;
+        if (isSameFrame && canDrawPicture(canvas)) {
+            isRecording = true;
+            return picture.beginRecording(canvasWidth, canvasHeight);
+        }
+        return canvas;
+    }
+
+    void endDraw(Canvas canvas) {
+        if (isRecording) {
+            picture.endRecording();
+            isRecording = false;
+            isPictureValid = true;
+            canvas.drawPicture(picture);
+        }
+    }
+
+    /**
+     * Has to be called when drawn values or their style change.
+     */
+    void invalidate() {
+        isFrameValid = false;
+        isPictureValid = false;
+    }
+
+    /**
+     * Hardware accelerated canvas draws pictures only since Android 6.
+     */
+    private static boolean canDrawPicture(Canvas canvas) {
+        return !canvas.isHardwareAccelerated() || Build.VERSION.SDK_INT >= Build.VERSION_CODES.M;
+    }
+}
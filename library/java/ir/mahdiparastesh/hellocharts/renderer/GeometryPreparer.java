@@ -0,0 +1,433 @@
+package ir.mahdiparastesh.hellocharts.renderer;
+
+import android.graphics.Rect;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Looper;
+import android.os.Process;
+
+import java.util.Arrays;
+
+import ir.mahdiparastesh.hellocharts.model.Line;
+import ir.mahdiparastesh.hellocharts.model.Viewport;
+
+/**
+ * Decimates lines on a worker thread for a snapshot of viewport, content rect and values. The snapshot covers
+ * {@link #PADDING_WIDTHS} viewport widths on both sides of viewport, so while viewport is scrolled or zoomed the
+ * last prepared frame can still be drawn by mapping its points to current viewport until the next frame is ready.
+ * Only the latest requested snapshot is prepared, older requests are dropped and frames whose lines changed since
+ * their snapshot are not used.
+ * <p>
+ * Values are copied on the main thread for {@link #COPY_PADDING_WIDTHS} viewport widths on both sides of viewport and
+ * copied again only when snapshot range leaves copied range or values change, so scrolling doesn't copy values in
+ * every frame. Every line has two copies, worker reads one of them while the other one can be refreshed, and never
+ * reads lines themselves. Every worker thread has its own decimator and frame it prepares, frames are handed over
+ * between threads by swapping them under a short lock and only by the current worker, main thread reads only
+ * {@link #getFrontFrame()} which worker never writes.
+ */
+class GeometryPreparer {
+    private static final float PADDING_WIDTHS = 1;
+    private static final float COPY_PADDING_WIDTHS = 3;
+    /**
+     * Prepared frame is mapped to current viewport only while scale differs by less than this factor, otherwise
+     * decimated columns would be visibly wide or too dense.
+     */
+    private static final float MAX_SCALE_RATIO = 2;
+    private final Object lock = new Object();
+    private final Runnable onFrameReady;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final Runnable frameReadyTask = this::notifyFrameReady;
+    private Worker worker;
+    /**
+     * Two copies of values for every line index, see {@link Frame#setSnapshot}.
+     */
+    private ValuesCopy[][] copies = new ValuesCopy[0][];
+    private final Frame requestedFrame = new Frame();
+    private Frame readyFrame = new Frame();
+    private Frame frontFrame = new Frame();
+    private boolean hasRequest;
+    private boolean isReadyFrameNew;
+    private long generation;
+
+    /**
+     * @param onFrameReady called on the main thread every time a new frame was prepared.
+     */
+    GeometryPreparer(Runnable onFrameReady) {
+        this.onFrameReady = onFrameReady;
+    }
+
+    /**
+     * Requests preparation of given lines for given viewport and content rect unless the same snapshot was already
+     * requested, values of lines that are not copied yet are copied before this method returns. Only lines with
+     * non-null entries are prepared. Called on the main thread.
+     */
+    void request(Line[] lines, int linesCount, Viewport viewport, Rect contentRect) {
+        final Worker requestWorker;
+        synchronized (lock) {
+            if (requestedFrame.isSameSnapshot(lines, linesCount, viewport, contentRect)) {
+                return;
+            }
+            ensureCopies(linesCount);
+            requestedFrame.setSnapshot(lines, linesCount, viewport, contentRect, copies, ++generation);
+            hasRequest = true;
+            if (null == worker) {
+                worker = new Worker();
+            }
+            requestWorker = worker;
+        }
+        requestWorker.handler.removeCallbacks(requestWorker.prepareTask);
+        requestWorker.handler.post(requestWorker.prepareTask);
+    }
+
+    /**
+     * Makes the latest prepared frame the front frame, called on the main thread before drawing.
+     */
+    void swapFrames() {
+        synchronized (lock) {
+            if (isReadyFrameNew) {
+                final Frame frame = frontFrame;
+                frontFrame = readyFrame;
+                readyFrame = frame;
+                isReadyFrameNew = false;
+            }
+        }
+    }
+
+    Frame getFrontFrame() {
+        return frontFrame;
+    }
+
+    /**
+     * Stops the worker thread, prepared frames are dropped. Preparer can be used again after that, new worker doesn't
+     * share any frame, copy or decimator with the stopped one, which can still be finishing its frame.
+     */
+    void release() {
+        synchronized (lock) {
+            if (null != worker) {
+                worker.handler.removeCallbacks(worker.prepareTask);
+                worker.thread.quitSafely();
+                worker = null;
+            }
+            // Frame that is being prepared now is dropped when it's finished.
+            ++generation;
+            requestedFrame.invalidate();
+            readyFrame.invalidate();
+            frontFrame.invalidate();
+            copies = new ValuesCopy[0][];
+            hasRequest = false;
+            isReadyFrameNew = false;
+        }
+        mainHandler.removeCallbacks(frameReadyTask);
+    }
+
+    private void ensureCopies(int linesCount) {
+        if (copies.length < linesCount) {
+            final int oldLength = copies.length;
+            copies = Arrays.copyOf(copies, linesCount);
+            for (int i = oldLength; i < linesCount; ++i) {
+                copies[i] = new ValuesCopy[]{new ValuesCopy(), new ValuesCopy()};
+            }
+        }
+    }
+
+    private void notifyFrameReady() {
+        onFrameReady.run();
+    }
+
+    private static int findFirstIndexAbove(Line line, float x, boolean inclusive) {
+        int low = 0;
+        int high = line.getValuesCount();
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            final float middleX = line.getValueX(middle);
+            if (middleX < x || (inclusive && middleX == x)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static int findFirstIndexAbove(float[] xValues, int count, float x, boolean inclusive) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            final float middleX = xValues[middle];
+            if (middleX < x || (inclusive && middleX == x)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Worker thread with its own decimator and frame that is being prepared.
+     */
+    private class Worker {
+        private final HandlerThread thread = new HandlerThread("HelloChartsGeometry",
+                Process.THREAD_PRIORITY_DISPLAY);
+        private final Handler handler;
+        private final LineDecimator decimator = new LineDecimator();
+        private final Runnable prepareTask = this::prepareRequestedFrame;
+        private Frame backFrame = new Frame();
+
+        private Worker() {
+            thread.start();
+            handler = new Handler(thread.getLooper());
+        }
+
+        private void prepareRequestedFrame() {
+            final Frame frame;
+            synchronized (lock) {
+                if (this != worker || !hasRequest) {
+                    return;
+                }
+                backFrame.takeSnapshot(requestedFrame);
+                hasRequest = false;
+                frame = backFrame;
+            }
+            prepare(frame);
+            synchronized (lock) {
+                frame.releaseValues();
+                // Frame is dropped if newer snapshot was requested while it was prepared or worker was stopped.
+                if (this != worker || hasRequest || frame.generation != generation) {
+                    return;
+                }
+                backFrame = readyFrame;
+                readyFrame = frame;
+                isReadyFrameNew = true;
+            }
+            mainHandler.removeCallbacks(frameReadyTask);
+            mainHandler.post(frameReadyTask);
+        }
+
+        private void prepare(Frame frame) {
+            final Viewport viewport = frame.viewport;
+            final Rect contentRect = frame.contentRect;
+            frame.scaleX = contentRect.width() / viewport.width();
+            frame.scaleY = contentRect.height() / viewport.height();
+            final float padding = viewport.width() * PADDING_WIDTHS;
+            final int columnsCount = (int) (contentRect.width() * (1 + 2 * PADDING_WIDTHS)) + 1;
+            for (int i = 0; i < frame.linesCount; ++i) {
+                final ValuesCopy copy = frame.values[i];
+                if (null == copy) {
+                    frame.counts[i] = -1;
+                    continue;
+                }
+                final int first = Math.max(0,
+                        findFirstIndexAbove(copy.xValues, copy.count, viewport.left - padding, false) - 1);
+                final int last = Math.min(copy.count - 1,
+                        findFirstIndexAbove(copy.xValues, copy.count, viewport.right + padding, true));
+                final float[] points = null == frame.points[i] ? new float[0] : frame.points[i];
+                frame.counts[i] = decimator.decimate(copy.xValues, copy.yValues, first, last, points, columnsCount,
+                        contentRect.left, viewport.left, frame.scaleX, contentRect.bottom, viewport.bottom,
+                        frame.scaleY);
+                frame.points[i] = decimator.getPoints();
+            }
+        }
+    }
+
+    /**
+     * Values of a line with X from left to right and one more value on both sides, copied for values stamp of the
+     * line. Busy copy is read by worker and must not be modified.
+     */
+    private static class ValuesCopy {
+        private Line line;
+        private long stamp;
+        private float left;
+        private float right;
+        private float[] xValues = new float[0];
+        private float[] yValues = new float[0];
+        private int count;
+        private boolean isBusy;
+
+        private boolean covers(Line line, float left, float right) {
+            return this.line == line && stamp == line.getValuesStamp() && left >= this.left && right <= this.right;
+        }
+
+        private void copy(Line line, float left, float right) {
+            final int first = Math.max(0, findFirstIndexAbove(line, left, false) - 1);
+            final int last = Math.min(line.getValuesCount() - 1, findFirstIndexAbove(line, right, true));
+            count = Math.max(0, last - first + 1);
+            if (xValues.length < count) {
+                xValues = new float[count + (count >> 1)];
+                yValues = new float[count + (count >> 1)];
+            }
+            for (int valueIndex = first; valueIndex <= last; ++valueIndex) {
+                xValues[valueIndex - first] = line.getValueX(valueIndex);
+                yValues[valueIndex - first] = line.getValueY(valueIndex);
+            }
+            this.line = line;
+            this.stamp = line.getValuesStamp();
+            this.left = left;
+            this.right = right;
+        }
+    }
+
+    /**
+     * Snapshot and decimated points of lines prepared for it.
+     */
+    static class Frame {
+        private Line[] lines = new Line[0];
+        private long[] stamps = new long[0];
+        /**
+         * Copies of values of lines that cover snapshot range, see {@link #setSnapshot}.
+         */
+        private ValuesCopy[] values = new ValuesCopy[0];
+        private float[][] points = new float[0][];
+        private int[] counts = new int[0];
+        private int linesCount;
+        private final Viewport viewport = new Viewport();
+        private final Rect contentRect = new Rect();
+        private float scaleX;
+        private float scaleY;
+        private long generation;
+        private boolean isValid;
+
+        long getGeneration() {
+            return generation;
+        }
+
+        /**
+         * Maps prepared points of given line to given viewport and content rect and stores them in target, which is
+         * grown if needed. Returns array that holds the points, or null if line was not prepared for current values
+         * or frame doesn't cover given viewport.
+         */
+        float[] mapPoints(int lineIndex, Line line, Viewport viewport, Rect contentRect, float[] target) {
+            if (!isValid || lineIndex >= linesCount || lines[lineIndex] != line || counts[lineIndex] < 0
+                    || stamps[lineIndex] != line.getValuesStamp() || !covers(viewport, contentRect)) {
+                return null;
+            }
+            final int count = counts[lineIndex];
+            final float[] mapped = target.length < count ? new float[count] : target;
+            final float[] prepared = points[lineIndex];
+            if (this.viewport.equals(viewport)) {
+                System.arraycopy(prepared, 0, mapped, 0, count);
+                return mapped;
+            }
+            // Raw coordinates of prepared points are mapped to current ones with scale and translation per axis.
+            final float currentScaleX = contentRect.width() / viewport.width();
+            final float currentScaleY = contentRect.height() / viewport.height();
+            final float ratioX = currentScaleX / scaleX;
+            final float ratioY = currentScaleY / scaleY;
+            final float translationX = contentRect.left + (this.viewport.left - viewport.left) * currentScaleX
+                    - this.contentRect.left * ratioX;
+            final float translationY = contentRect.bottom - (this.viewport.bottom - viewport.bottom) * currentScaleY
+                    - this.contentRect.bottom * ratioY;
+            for (int i = 0; i < count; i += 2) {
+                mapped[i] = prepared[i] * ratioX + translationX;
+                mapped[i + 1] = prepared[i + 1] * ratioY + translationY;
+            }
+            return mapped;
+        }
+
+        int getCount(int lineIndex) {
+            return counts[lineIndex];
+        }
+
+        private boolean covers(Viewport viewport, Rect contentRect) {
+            final float padding = this.viewport.width() * PADDING_WIDTHS;
+            final float ratio = this.viewport.width() / viewport.width();
+            return this.contentRect.equals(contentRect) && viewport.left >= this.viewport.left - padding
+                    && viewport.right <= this.viewport.right + padding
+                    && ratio < MAX_SCALE_RATIO && ratio > 1 / MAX_SCALE_RATIO;
+        }
+
+        private boolean isSameSnapshot(Line[] lines, int linesCount, Viewport viewport, Rect contentRect) {
+            if (!isValid || this.linesCount != linesCount || !this.viewport.equals(viewport)
+                    || !this.contentRect.equals(contentRect)) {
+                return false;
+            }
+            for (int i = 0; i < linesCount; ++i) {
+                if (this.lines[i] != lines[i] || (null != lines[i] && stamps[i] != lines[i].getValuesStamp())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Sets snapshot of given lines. Copy of values of this frame is kept while it covers snapshot range, otherwise
+         * values are copied to one of two copies of given line index that is not busy.
+         */
+        private void setSnapshot(Line[] lines, int linesCount, Viewport viewport, Rect contentRect,
+                                 ValuesCopy[][] copies, long generation) {
+            ensureCapacity(linesCount);
+            final float padding = viewport.width() * PADDING_WIDTHS;
+            final float copyPadding = viewport.width() * COPY_PADDING_WIDTHS;
+            for (int i = 0; i < linesCount; ++i) {
+                final Line line = lines[i];
+                this.lines[i] = line;
+                stamps[i] = null == line ? 0 : line.getValuesStamp();
+                if (null == line) {
+                    values[i] = null;
+                    continue;
+                }
+                if (null == values[i] || !values[i].covers(line, viewport.left - padding, viewport.right + padding)) {
+                    final ValuesCopy copy = copies[i][0].isBusy ? copies[i][1] : copies[i][0];
+                    copy.copy(line, viewport.left - copyPadding, viewport.right + copyPadding);
+                    values[i] = copy;
+                }
+            }
+            Arrays.fill(this.lines, linesCount, this.lines.length, null);
+            Arrays.fill(values, linesCount, values.length, null);
+            this.linesCount = linesCount;
+            this.viewport.set(viewport);
+            this.contentRect.set(contentRect);
+            this.generation = generation;
+            isValid = true;
+        }
+
+        /**
+         * Copies snapshot of given frame, its copies of values are marked busy until {@link #releaseValues()}.
+         */
+        private void takeSnapshot(Frame frame) {
+            ensureCapacity(frame.linesCount);
+            System.arraycopy(frame.lines, 0, lines, 0, frame.linesCount);
+            System.arraycopy(frame.stamps, 0, stamps, 0, frame.linesCount);
+            System.arraycopy(frame.values, 0, values, 0, frame.linesCount);
+            Arrays.fill(lines, frame.linesCount, lines.length, null);
+            Arrays.fill(values, frame.linesCount, values.length, null);
+            for (int i = 0; i < frame.linesCount; ++i) {
+                if (null != values[i]) {
+                    values[i].isBusy = true;
+                }
+            }
+            linesCount = frame.linesCount;
+            viewport.set(frame.viewport);
+            contentRect.set(frame.contentRect);
+            generation = frame.generation;
+            isValid = true;
+        }
+
+        private void releaseValues() {
+            for (int i = 0; i < linesCount; ++i) {
+                if (null != values[i]) {
+                    values[i].isBusy = false;
+                    values[i] = null;
+                }
+            }
+        }
+
+        private void ensureCapacity(int linesCount) {
+            if (lines.length < linesCount) {
+                lines = Arrays.copyOf(lines, linesCount);
+                stamps = Arrays.copyOf(stamps, linesCount);
+                values = Arrays.copyOf(values, linesCount);
+                points = Arrays.copyOf(points, linesCount);
+                counts = Arrays.copyOf(counts, linesCount);
+            }
+        }
+
+        private void invalidate() {
+            isValid = false;
+            Arrays.fill(lines, null);
+            Arrays.fill(values, null);
+            linesCount = 0;
+        }
+    }
+}
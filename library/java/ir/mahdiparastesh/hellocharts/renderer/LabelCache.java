@@ -0,0 +1,264 @@
+package ir.mahdiparastesh.hellocharts.renderer;
+
+import android.graphics.Paint;
+import android.graphics.Typeface;
+
+import java.util.Arrays;
+
+import ir.mahdiparastesh.hellocharts.formatter.AxisValueFormatter;
+
+/**
+ * Least recently used cache of label widths and of formatted values of auto-generated axes, so labels that are drawn
+ * every frame are not measured and formatted again. Entries are kept in a fixed number of slots indexed by a hash
+ * table with chaining through slot indexes. Slots are allocated while cache fills, after that every miss reuses the
+ * least recently used slot, so cache allocates only when label is longer than any label that slot held before.
+ */
+class LabelCache {
+    private static final int DEFAULT_MAX_SIZE = 512;
+    private static final int INITIAL_CHARS_CAPACITY = 16;
+    private static final int KIND_WIDTH = 0;
+    private static final int KIND_AXIS_VALUE = 1;
+    private static final int NONE = -1;
+    private final Slot[] slots;
+    /**
+     * Index of the first slot in every bucket, power of two long.
+     */
+    private final int[] buckets;
+    private int size;
+    private int newest = NONE;
+    private int oldest = NONE;
+
+    LabelCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    LabelCache(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Max size has to be positive: " + maxSize);
+        }
+        slots = new Slot[maxSize];
+        buckets = new int[Integer.highestOneBit(maxSize * 2 - 1) << 1];
+        Arrays.fill(buckets, NONE);
+    }
+
+    /**
+     * Returns width of count chars starting at start measured with given paint.
+     */
+    float measureText(Paint paint, char[] chars, int start, int count) {
+        final float textSize = paint.getTextSize();
+        final Typeface typeface = paint.getTypeface();
+        final int hashCode = hashCode(KIND_WIDTH, textSize, typeface, null, 0, 0, chars, start, count);
+        int index = find(hashCode, KIND_WIDTH, textSize, typeface, null, 0, 0, chars, start, count);
+        if (NONE == index) {
+            index = obtainSlot(hashCode);
+            final Slot slot = slots[index];
+            slot.setKey(KIND_WIDTH, textSize, typeface, null, 0, 0, chars, start, count);
+            slot.width = paint.measureText(chars, start, count);
+        } else {
+            markAsNewest(index);
+        }
+        return slots[index].width;
+    }
+
+    /**
+     * Formats value of auto-generated axis the same way as
+     * {@link AxisValueFormatter#formatValueForAutoGeneratedAxis(char[], float, int)}, formatted chars are stored at
+     * the end of formattedValue and their number is returned.
+     */
+    int formatValueForAutoGeneratedAxis(AxisValueFormatter formatter, char[] formattedValue, float value,
+                                        int decimals) {
+        final int hashCode = hashCode(KIND_AXIS_VALUE, 0, null, formatter, value, decimals, null, 0, 0);
+        int index = find(hashCode, KIND_AXIS_VALUE, 0, null, formatter, value, decimals, null, 0, 0);
+        if (NONE == index) {
+            final int charsNumber = formatter.formatValueForAutoGeneratedAxis(formattedValue, value, decimals);
+            index = obtainSlot(hashCode);
+            final Slot slot = slots[index];
+            slot.setKey(KIND_AXIS_VALUE, 0, null, formatter, value, decimals, null, 0, 0);
+            slot.setChars(formattedValue, formattedValue.length - charsNumber, charsNumber);
+            return charsNumber;
+        }
+        markAsNewest(index);
+        final Slot slot = slots[index];
+        final int charsNumber = Math.min(slot.charsCount, formattedValue.length);
+        System.arraycopy(slot.chars, slot.charsCount - charsNumber, formattedValue,
+                formattedValue.length - charsNumber, charsNumber);
+        return charsNumber;
+    }
+
+    /**
+     * Has to be called when formatters or label paints change. Slots are kept for reuse.
+     */
+    void clear() {
+        for (int i = 0; i < size; ++i) {
+            slots[i].typeface = null;
+            slots[i].formatter = null;
+        }
+        Arrays.fill(buckets, NONE);
+        size = 0;
+        newest = NONE;
+        oldest = NONE;
+    }
+
+    private int find(int hashCode, int kind, float textSize, Typeface typeface, Object formatter, float value,
+                     int decimals, char[] chars, int start, int count) {
+        int index = buckets[bucket(hashCode)];
+        while (NONE != index) {
+            final Slot slot = slots[index];
+            if (slot.matches(hashCode, kind, textSize, typeface, formatter, value, decimals, chars, start, count)) {
+                return index;
+            }
+            index = slot.nextInBucket;
+        }
+        return NONE;
+    }
+
+    /**
+     * Returns index of free slot or of the least recently used one removed from cache, slot is added to bucket of
+     * given hash code and marked as the newest.
+     */
+    private int obtainSlot(int hashCode) {
+        final int index;
+        if (size < slots.length) {
+            index = size++;
+            if (null == slots[index]) {
+                slots[index] = new Slot();
+            }
+        } else {
+            index = oldest;
+            removeFromBucket(index);
+            removeFromList(index);
+        }
+        final Slot slot = slots[index];
+        final int bucket = bucket(hashCode);
+        slot.hashCode = hashCode;
+        slot.nextInBucket = buckets[bucket];
+        buckets[bucket] = index;
+        addAsNewest(index);
+        return index;
+    }
+
+    private void markAsNewest(int index) {
+        if (index != newest) {
+            removeFromList(index);
+            addAsNewest(index);
+        }
+    }
+
+    private void addAsNewest(int index) {
+        final Slot slot = slots[index];
+        slot.older = newest;
+        slot.newer = NONE;
+        if (NONE != newest) {
+            slots[newest].newer = index;
+        }
+        newest = index;
+        if (NONE == oldest) {
+            oldest = index;
+        }
+    }
+
+    private void removeFromList(int index) {
+        final Slot slot = slots[index];
+        if (NONE != slot.older) {
+            slots[slot.older].newer = slot.newer;
+        } else {
+            oldest = slot.newer;
+        }
+        if (NONE != slot.newer) {
+            slots[slot.newer].older = slot.older;
+        } else {
+            newest = slot.older;
+        }
+    }
+
+    private void removeFromBucket(int index) {
+        final Slot slot = slots[index];
+        final int bucket = bucket(slot.hashCode);
+        if (buckets[bucket] == index) {
+            buckets[bucket] = slot.nextInBucket;
+            return;
+        }
+        int previous = buckets[bucket];
+        while (slots[previous].nextInBucket != index) {
+            previous = slots[previous].nextInBucket;
+        }
+        slots[previous].nextInBucket = slot.nextInBucket;
+    }
+
+    private int bucket(int hashCode) {
+        return (hashCode ^ (hashCode >>> 16)) & (buckets.length - 1);
+    }
+
+    private static int hashCode(int kind, float textSize, Typeface typeface, Object formatter, float value,
+                                int decimals, char[] chars, int start, int count) {
+        int result = kind;
+        result = 31 * result + Float.floatToIntBits(textSize);
+        result = 31 * result + System.identityHashCode(typeface);
+        result = 31 * result + System.identityHashCode(formatter);
+        result = 31 * result + Float.floatToIntBits(value);
+        result = 31 * result + decimals;
+        for (int i = start; i < start + count; ++i) {
+            result = 31 * result + chars[i];
+        }
+        return result;
+    }
+
+    /**
+     * Key of cached label and its width or formatted chars. Chars of width entries are label itself, chars of axis
+     * value entries are formatted value, keyCharsCount is 0 for them.
+     */
+    private static class Slot {
+        private int kind;
+        private float textSize;
+        private Typeface typeface;
+        private Object formatter;
+        private float value;
+        private int decimals;
+        private int keyCharsCount;
+        private int hashCode;
+        private char[] chars = new char[INITIAL_CHARS_CAPACITY];
+        private int charsCount;
+        private float width;
+        private int nextInBucket = NONE;
+        private int newer = NONE;
+        private int older = NONE;
+
+        private void setKey(int kind, float textSize, Typeface typeface, Object formatter, float value,
+                            int decimals, char[] chars, int start, int count) {
+            this.kind = kind;
+            this.textSize = textSize;
+            this.typeface = typeface;
+            this.formatter = formatter;
+            this.value = value;
+            this.decimals = decimals;
+            setChars(chars, start, count);
+            keyCharsCount = count;
+        }
+
+        private void setChars(char[] source, int start, int count) {
+            if (chars.length < count) {
+                chars = new char[Math.max(count, chars.length * 2)];
+            }
+            if (count > 0) {
+                System.arraycopy(source, start, chars, 0, count);
+            }
+            charsCount = count;
+        }
+
+        private boolean matches(int hashCode, int kind, float textSize, Typeface typeface, Object formatter,
+                                float value, int decimals, char[] chars, int start, int count) {
+            if (this.hashCode != hashCode || this.kind != kind || keyCharsCount != count || this.decimals != decimals
+                    || this.formatter != formatter || this.typeface != typeface
+                    || Float.floatToIntBits(this.textSize) != Float.floatToIntBits(textSize)
+                    || Float.floatToIntBits(this.value) != Float.floatToIntBits(value)) {
+                return false;
+            }
+            for (int i = 0; i < count; ++i) {
+                if (this.chars[i] != chars[start + i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
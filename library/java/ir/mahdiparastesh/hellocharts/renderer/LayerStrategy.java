@@ -0,0 +1,25 @@
+package ir.mahdiparastesh.hellocharts.renderer;
+
+/**
+ * Defines where {@link LineChartRenderer} draws lines before they appear on the chart.
+ * <p>
+ * There is no strategy with off-screen layer around filled areas: area is one path filled with translucent color and
+ * its line is drawn over it with the default blending mode, none of them depends on pixels below them in other way than
+ * plain alpha blending, so compositing them in a layer gives the same image as drawing them directly.
+ */
+public enum LayerStrategy {
+    /**
+     * Renderer uses software bitmap for hardware accelerated canvas before Android 9, its renderer rasterizes every
+     * path into a texture and doesn't draw paths bigger than maximum texture size. Otherwise lines are drawn directly.
+     */
+    AUTO,
+    /**
+     * Lines are drawn directly on chart canvas, no additional memory is used.
+     */
+    DIRECT,
+    /**
+     * Lines are drawn on software bitmap of chart size which is then drawn on chart canvas, that bitmap takes 4 bytes
+     * per pixel of the chart.
+     */
+    SOFTWARE_BITMAP
+}
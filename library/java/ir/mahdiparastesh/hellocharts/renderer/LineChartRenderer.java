@@ -5,21 +5,31 @@ import android.graphics.Bitmap;
 import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.LinearGradient;
+import android.graphics.Matrix;
 import android.graphics.Paint;
 import android.graphics.Paint.Cap;
 import android.graphics.Path;
 import android.graphics.PorterDuff.Mode;
 import android.graphics.Rect;
 import android.graphics.Shader;
+import android.os.Build;
+import android.view.View;
+
+import androidx.core.view.ViewCompat;
+
+import java.util.Arrays;
+import java.util.List;
 
 import ir.mahdiparastesh.hellocharts.model.Line;
 import ir.mahdiparastesh.hellocharts.model.LineChartData;
+import ir.mahdiparastesh.hellocharts.model.PointSeries;
 import ir.mahdiparastesh.hellocharts.model.PointValue;
 import ir.mahdiparastesh.hellocharts.model.SelectedValue.SelectedValueType;
 import ir.mahdiparastesh.hellocharts.model.ValueShape;
 import ir.mahdiparastesh.hellocharts.model.Viewport;
 import ir.mahdiparastesh.hellocharts.provider.LineChartDataProvider;
 import ir.mahdiparastesh.hellocharts.util.ChartUtils;
+import ir.mahdiparastesh.hellocharts.util.DownsamplingPyramid;
 import ir.mahdiparastesh.hellocharts.view.Chart;
 
 /**
@@ -33,6 +43,17 @@ public class LineChartRenderer extends AbstractChartRenderer {
     private static final int MODE_DRAW = 0;
     private static final int MODE_HIGHLIGHT = 1;
 
+    /**
+     * Decimation is used only if line has more visible values than this number times content width in pixels.
+     */
+    private static final int DECIMATION_MIN_VALUES_PER_PIXEL = 2;
+    /**
+     * Projected points of streaming line are recalculated when viewport moved away from their anchor by more than this
+     * number of content widths, so they don't lose float precision.
+     */
+    private static final int PROJECTION_MAX_ANCHOR_DISTANCE = 64;
+    private static final float SQRT_2 = (float) Math.sqrt(2);
+
     private final LineChartDataProvider dataProvider;
 
     private final int checkPrecision;
@@ -44,9 +65,44 @@ public class LineChartRenderer extends AbstractChartRenderer {
     private final Paint linePaint = new Paint();
     private final Paint pointPaint = new Paint();
 
+    private LayerStrategy layerStrategy = LayerStrategy.AUTO;
+    /**
+     * Created only when lines are drawn with {@link LayerStrategy#SOFTWARE_BITMAP}.
+     */
     private Bitmap softwareBitmap;
     private final Canvas softwareCanvas = new Canvas();
+    /**
+     * Recorded lines and points used when {@link #isDataLayerCached()} is true.
+     */
+    private final DataLayerCache linesLayerCache = new DataLayerCache();
+    private final DataLayerCache pointsLayerCache = new DataLayerCache();
     private final Viewport tempMaximumViewport = new Viewport();
+    /**
+     * Reused to pass values of lines backed by {@link PointSeries} to formatters.
+     */
+    private final PointValue tempPointValue = new PointValue();
+    /**
+     * Range of values of currently processed line, see {@link #calculateVisibleRange(Line, float)}.
+     */
+    private int firstVisibleIndex;
+    private int lastVisibleIndex;
+    /**
+     * Data cached between frames for every line, indexed the same way as lines.
+     */
+    private LineDrawCache[] lineDrawCaches = new LineDrawCache[0];
+    private final LineDecimator decimator = new LineDecimator();
+    /**
+     * Prepares decimated lines on worker thread, null unless background preparation is enabled.
+     */
+    private GeometryPreparer geometryPreparer;
+    private Line[] preparedLines = new Line[0];
+    /**
+     * Raw coordinates of points drawn in batch, indexes of their values and path of diamonds.
+     */
+    private float[] pointsBuffer = new float[0];
+    private int[] pointsIndexesBuffer = new int[0];
+    private final Path diamondsPath = new Path();
+    private final Matrix pathMatrix = new Matrix();
 
     public LineChartRenderer(Context context, Chart chart, LineChartDataProvider dataProvider) {
         super(context, chart);
@@ -70,11 +126,8 @@ public class LineChartRenderer extends AbstractChartRenderer {
         final int internalMargin = calculateContentRectInternalMargin();
         calculator.insetContentRectByInternalMargins(internalMargin, internalMargin,
                 internalMargin, internalMargin);
-        if (calculator.getChartWidth() > 0 && calculator.getChartHeight() > 0) {
-            softwareBitmap = Bitmap.createBitmap(calculator.getChartWidth(), calculator.getChartHeight(),
-                    Bitmap.Config.ARGB_8888);
-            softwareCanvas.setBitmap(softwareBitmap);
-        }
+        // Bitmap of new size is created with the next frame if it is needed.
+        releaseSoftwareBitmap();
     }
 
     @Override
@@ -84,12 +137,18 @@ public class LineChartRenderer extends AbstractChartRenderer {
         calculator.insetContentRectByInternalMargins(internalMargin, internalMargin,
                 internalMargin, internalMargin);
         baseValue = dataProvider.getLineChartData().getBaseValue();
+        for (Line line : dataProvider.getLineChartData().getLines()) {
+            // Values could have been modified in place before data was set again.
+            line.notifyValuesChanged();
+        }
 
         onChartViewportChanged();
     }
 
     @Override
     public void onChartViewportChanged() {
+        // Called also for every frame of data animation.
+        invalidateDataLayers();
         if (isViewportCalculationEnabled) {
             calculateMaxViewport();
             calculator.setMaxViewport(tempMaximumViewport);
@@ -97,48 +156,172 @@ public class LineChartRenderer extends AbstractChartRenderer {
         }
     }
 
+    /**
+     * Updates maximum viewport after values were appended to or removed from the beginning of {@link PointSeries} of
+     * lines. Unlike {@link #onChartDataChanged()} it keeps current viewport and uses bounds cached by lines, so only
+     * changed lines are processed.
+     */
+    public void onChartValuesAppended() {
+        invalidateDataLayers();
+        if (isViewportCalculationEnabled) {
+            calculateMaxViewport();
+            calculator.setMaxViewport(tempMaximumViewport);
+        }
+        if (selectedValue.isSet()) {
+            // Selected value could have been removed.
+            final List<Line> lines = dataProvider.getLineChartData().getLines();
+            if (selectedValue.getFirstIndex() >= lines.size() || selectedValue.getSecondIndex()
+                    >= lines.get(selectedValue.getFirstIndex()).getValuesCount()) {
+                selectedValue.clear();
+            }
+        }
+    }
+
     @Override
     public void draw(Canvas canvas) {
         final LineChartData data = dataProvider.getLineChartData();
+        long frameGeneration = 0;
+        if (null != geometryPreparer) {
+            geometryPreparer.swapFrames();
+            requestPreparedGeometry(data);
+            frameGeneration = geometryPreparer.getFrontFrame().getGeneration();
+        }
 
+        final LayerStrategy strategy = resolveLayerStrategy(canvas);
         final Canvas drawCanvas;
 
-        // softwareBitmap can be null if chart is rendered in layout editor.
-        // In that case use default canvas and not
-        // softwareCanvas.
-        if (null != softwareBitmap) {
+        // softwareBitmap can't be created if chart has no size yet, in that case use default canvas.
+        if (LayerStrategy.SOFTWARE_BITMAP == strategy && obtainSoftwareBitmap()) {
             drawCanvas = softwareCanvas;
             drawCanvas.drawColor(Color.TRANSPARENT, Mode.CLEAR);
         } else {
+            if (LayerStrategy.SOFTWARE_BITMAP != strategy) {
+                releaseSoftwareBitmap();
+            }
             drawCanvas = canvas;
         }
 
-        for (Line line : data.getLines()) {
+        if (isDataLayerCached) {
+            // Newly prepared frame has to be drawn even if values are the same.
+            final long stamp = 31 * computeValuesStamp(data) + frameGeneration;
+            final Canvas layerCanvas = linesLayerCache.beginDraw(drawCanvas, calculator, stamp);
+            if (null != layerCanvas) {
+                drawLines(layerCanvas, data);
+                linesLayerCache.endDraw(drawCanvas);
+            }
+        } else {
+            drawLines(drawCanvas, data);
+        }
+
+        if (drawCanvas == softwareCanvas) {
+            canvas.drawBitmap(softwareBitmap, 0, 0, null);
+        }
+    }
+
+    private void drawLines(Canvas drawCanvas, LineChartData data) {
+        final List<Line> lines = data.getLines();
+        for (int lineIndex = 0; lineIndex < lines.size(); ++lineIndex) {
+            final Line line = lines.get(lineIndex);
             if (line.hasLines()) {
-                if (line.isCubic()) {
-                    drawSmoothPath(drawCanvas, line);
+                final LineDrawCache lineDrawCache = obtainLineDrawCache(lineIndex, line);
+                if (line.isPathCached() && !line.isDecimated()) {
+                    drawCachedPath(drawCanvas, line, lineDrawCache);
+                } else if (line.isCubic()) {
+                    drawSmoothPath(drawCanvas, line, lineDrawCache);
+                } else if (line.isDecimated() && decimateLine(lineIndex, line, lineDrawCache)) {
+                    drawDecimatedPath(drawCanvas, line, lineDrawCache);
+                } else if (projectStreamingLine(line, lineDrawCache)) {
+                    drawStreamingPath(drawCanvas, line, lineDrawCache);
                 } else if (line.isSquare()) {
-                    drawSquarePath(drawCanvas, line);
+                    drawSquarePath(drawCanvas, line, lineDrawCache);
                 } else {
-                    drawPath(drawCanvas, line);
+                    drawPath(drawCanvas, line, lineDrawCache);
                 }
             }
         }
+    }
+
+    /**
+     * Stamp of values of all lines, used to detect changes of values that were made without notifying renderer.
+     */
+    private long computeValuesStamp(LineChartData data) {
+        final List<Line> lines = data.getLines();
+        long stamp = lines.size();
+        for (int i = 0; i < lines.size(); ++i) {
+            stamp = 31 * stamp + lines.get(i).getValuesStamp();
+        }
+        return stamp;
+    }
+
+    /**
+     * Requests background preparation of lines that would be drawn by {@link #decimateLine(int, Line, LineDrawCache)}
+     * for current viewport.
+     */
+    private void requestPreparedGeometry(LineChartData data) {
+        final List<Line> lines = data.getLines();
+        final int linesCount = lines.size();
+        if (preparedLines.length < linesCount) {
+            preparedLines = new Line[linesCount];
+        }
+        for (int i = 0; i < linesCount; ++i) {
+            final Line line = lines.get(i);
+            final boolean isDecimated = line.hasLines() && line.isDecimated() && !line.isCubic()
+                    && line.isSortedByX();
+            preparedLines[i] = isDecimated ? line : null;
+        }
+        Arrays.fill(preparedLines, linesCount, preparedLines.length, null);
+        geometryPreparer.request(preparedLines, linesCount, calculator.getVisibleViewport(),
+                calculator.getContentRectMinusAllMargins());
+    }
 
+    private void invalidateDataLayers() {
+        linesLayerCache.invalidate();
+        pointsLayerCache.invalidate();
+    }
+
+    private LayerStrategy resolveLayerStrategy(Canvas canvas) {
+        if (LayerStrategy.AUTO != layerStrategy) {
+            return layerStrategy;
+        }
+        if (canvas.isHardwareAccelerated() && Build.VERSION.SDK_INT < Build.VERSION_CODES.P) {
+            return LayerStrategy.SOFTWARE_BITMAP;
+        }
+        return LayerStrategy.DIRECT;
+    }
+
+    /**
+     * Creates software bitmap of chart size if it doesn't exist yet, returns false if chart has no size.
+     */
+    private boolean obtainSoftwareBitmap() {
+        if (null == softwareBitmap) {
+            if (calculator.getChartWidth() <= 0 || calculator.getChartHeight() <= 0) {
+                return false;
+            }
+            softwareBitmap = Bitmap.createBitmap(calculator.getChartWidth(), calculator.getChartHeight(),
+                    Bitmap.Config.ARGB_8888);
+            softwareCanvas.setBitmap(softwareBitmap);
+        }
+        return true;
+    }
+
+    private void releaseSoftwareBitmap() {
         if (null != softwareBitmap) {
-            canvas.drawBitmap(softwareBitmap, 0, 0, null);
+            softwareCanvas.setBitmap(null);
+            softwareBitmap = null;
         }
     }
 
     @Override
     public void drawUnClipped(Canvas canvas) {
         final LineChartData data = dataProvider.getLineChartData();
-        int lineIndex = 0;
-        for (Line line : data.getLines()) {
-            if (checkIfShouldDrawPoints(line)) {
-                drawPoints(canvas, line, lineIndex, MODE_DRAW);
+        if (isDataLayerCached) {
+            final Canvas layerCanvas = pointsLayerCache.beginDraw(canvas, calculator, computeValuesStamp(data));
+            if (null != layerCanvas) {
+                drawAllPoints(layerCanvas, data);
+                pointsLayerCache.endDraw(canvas);
             }
-            ++lineIndex;
+        } else {
+            drawAllPoints(canvas, data);
         }
         if (isTouched()) {
             // Redraw touched point to bring it to the front
@@ -146,53 +329,199 @@ public class LineChartRenderer extends AbstractChartRenderer {
         }
     }
 
+    private void drawAllPoints(Canvas canvas, LineChartData data) {
+        final List<Line> lines = data.getLines();
+        for (int lineIndex = 0; lineIndex < lines.size(); ++lineIndex) {
+            final Line line = lines.get(lineIndex);
+            if (checkIfShouldDrawPoints(line)) {
+                drawPoints(canvas, line, lineIndex, MODE_DRAW);
+            }
+        }
+    }
+
     private boolean checkIfShouldDrawPoints(Line line) {
-        return line.hasPoints() || line.getValues().size() == 1;
+        return line.hasPoints() || line.getValuesCount() == 1;
     }
 
     @Override
     public boolean checkTouch(float touchX, float touchY) {
         selectedValue.clear();
-        final LineChartData data = dataProvider.getLineChartData();
-        int lineIndex = 0;
-        for (Line line : data.getLines()) {
+        final List<Line> lines = dataProvider.getLineChartData().getLines();
+        // If values of many lines are touched the last one is selected, so lines are checked from the last one.
+        for (int lineIndex = lines.size() - 1; lineIndex >= 0; --lineIndex) {
+            final Line line = lines.get(lineIndex);
             if (checkIfShouldDrawPoints(line)) {
                 int pointRadius = ChartUtils.dp2px(density, line.getPointRadius());
-                int valueIndex = 0;
-                for (PointValue pointValue : line.getValues()) {
-                    final float rawValueX = calculator.computeRawX(pointValue.getX());
-                    final float rawValueY = calculator.computeRawY(pointValue.getY());
-                    if (isInArea(rawValueX, rawValueY, touchX, touchY,
-                            pointRadius + touchToleranceMargin))
-                        selectedValue.set(lineIndex, valueIndex, SelectedValueType.LINE);
-                    ++valueIndex;
+                final int valueIndex = findTouchedValue(lineIndex, line, touchX, touchY,
+                        pointRadius + touchToleranceMargin);
+                if (valueIndex >= 0) {
+                    selectedValue.set(lineIndex, valueIndex, SelectedValueType.LINE);
+                    break;
                 }
             }
-            ++lineIndex;
         }
         return isTouched();
     }
 
+    /**
+     * Returns the biggest index of value of given line that is within touch area or -1 if no value is touched. For
+     * lines sorted by X only values with X close to touch point are checked, for other lines values are looked up in
+     * a grid of screen cells that is built when values, viewport or content rect change.
+     */
+    private int findTouchedValue(int lineIndex, Line line, float touchX, float touchY, float radius) {
+        // isInArea() accepts points within radius * sqrt(2).
+        final float touchDistance = radius * SQRT_2;
+        if (line.isSortedByX()) {
+            final Viewport visibleViewport = calculator.getVisibleViewport();
+            final Rect contentRect = calculator.getContentRectMinusAllMargins();
+            if (contentRect.width() > 0) {
+                // One more pixel on both sides for rounding errors, every candidate is checked anyway.
+                final float valuesPerPixel = visibleViewport.width() / contentRect.width();
+                final float left = visibleViewport.left
+                        + (touchX - touchDistance - 1 - contentRect.left) * valuesPerPixel;
+                final float right = visibleViewport.left
+                        + (touchX + touchDistance + 1 - contentRect.left) * valuesPerPixel;
+                final int firstIndex = findFirstIndexAbove(line, left, false);
+                for (int valueIndex = findFirstIndexAbove(line, right, true) - 1; valueIndex >= firstIndex;
+                     --valueIndex) {
+                    if (isValueInArea(line, valueIndex, touchX, touchY, radius)) {
+                        return valueIndex;
+                    }
+                }
+                return -1;
+            }
+        } else {
+            final LineDrawCache lineDrawCache = obtainLineDrawCache(lineIndex, line);
+            final float cellSize = Math.max(1, touchDistance);
+            prepareHitGrid(line, lineDrawCache, cellSize);
+            final int firstColumn = (int) ((touchX - touchDistance - lineDrawCache.hitGridLeft) / cellSize);
+            final int lastColumn = (int) ((touchX + touchDistance - lineDrawCache.hitGridLeft) / cellSize);
+            final int firstRow = (int) ((touchY - touchDistance - lineDrawCache.hitGridTop) / cellSize);
+            final int lastRow = (int) ((touchY + touchDistance - lineDrawCache.hitGridTop) / cellSize);
+            if (touchX - touchDistance >= lineDrawCache.hitGridLeft
+                    && touchY - touchDistance >= lineDrawCache.hitGridTop
+                    && lastColumn < lineDrawCache.hitGridColumns && lastRow < lineDrawCache.hitGridRows) {
+                int touchedIndex = -1;
+                for (int row = firstRow; row <= lastRow; ++row) {
+                    for (int column = firstColumn; column <= lastColumn; ++column) {
+                        final int cell = row * lineDrawCache.hitGridColumns + column;
+                        // Indexes in every cell are sorted so check them from the biggest one.
+                        for (int i = lineDrawCache.hitGridCellStarts[cell + 1] - 1;
+                             i >= lineDrawCache.hitGridCellStarts[cell]; --i) {
+                            final int valueIndex = lineDrawCache.hitGridIndexes[i];
+                            if (valueIndex <= touchedIndex) {
+                                break;
+                            }
+                            if (isValueInArea(line, valueIndex, touchX, touchY, radius)) {
+                                touchedIndex = valueIndex;
+                                break;
+                            }
+                        }
+                    }
+                }
+                return touchedIndex;
+            }
+        }
+        // Touch far outside of content rect, check all values.
+        for (int valueIndex = line.getValuesCount() - 1; valueIndex >= 0; --valueIndex) {
+            if (isValueInArea(line, valueIndex, touchX, touchY, radius)) {
+                return valueIndex;
+            }
+        }
+        return -1;
+    }
+
+    private boolean isValueInArea(Line line, int valueIndex, float touchX, float touchY, float radius) {
+        return isInArea(calculator.computeRawX(line.getValueX(valueIndex)),
+                calculator.computeRawY(line.getValueY(valueIndex)), touchX, touchY, radius);
+    }
+
+    /**
+     * Builds grid of square screen cells covering content rect with margin of two cells, for every cell grid keeps
+     * sorted indexes of values of given line that are drawn within that cell. Values outside of grid are skipped,
+     * touches close to them are handled without grid.
+     */
+    private void prepareHitGrid(Line line, LineDrawCache lineDrawCache, float cellSize) {
+        final Rect contentRect = calculator.getContentRectMinusAllMargins();
+        final Viewport visibleViewport = calculator.getVisibleViewport();
+        if (lineDrawCache.isHitGridValid && lineDrawCache.hitGridStamp == line.getValuesStamp()
+                && lineDrawCache.hitGridCellSize == cellSize
+                && lineDrawCache.hitGridViewport.equals(visibleViewport)
+                && lineDrawCache.hitGridContentRect.equals(contentRect)) {
+            return;
+        }
+        final float margin = 2 * cellSize;
+        lineDrawCache.hitGridLeft = contentRect.left - margin;
+        lineDrawCache.hitGridTop = contentRect.top - margin;
+        lineDrawCache.hitGridColumns = (int) ((contentRect.width() + 2 * margin) / cellSize) + 1;
+        lineDrawCache.hitGridRows = (int) ((contentRect.height() + 2 * margin) / cellSize) + 1;
+        final int cellsCount = lineDrawCache.hitGridColumns * lineDrawCache.hitGridRows;
+        final int lineSize = line.getValuesCount();
+        if (lineDrawCache.hitGridCellStarts.length < cellsCount + 1) {
+            lineDrawCache.hitGridCellStarts = new int[cellsCount + 1];
+        } else {
+            Arrays.fill(lineDrawCache.hitGridCellStarts, 0, cellsCount + 1, 0);
+        }
+        if (lineDrawCache.hitGridIndexes.length < lineSize) {
+            lineDrawCache.hitGridIndexes = new int[lineSize];
+        }
+        final int[] cellStarts = lineDrawCache.hitGridCellStarts;
+
+        // Count values in every cell, then turn counts into positions where indexes of cell start.
+        for (int valueIndex = 0; valueIndex < lineSize; ++valueIndex) {
+            final int cell = findHitGridCell(line, valueIndex, lineDrawCache, cellSize);
+            if (cell >= 0) {
+                ++cellStarts[cell + 1];
+            }
+        }
+        for (int cell = 0; cell < cellsCount; ++cell) {
+            cellStarts[cell + 1] += cellStarts[cell];
+        }
+        // Fill cells using their starts as cursors, after that every start points to the start of the next cell.
+        for (int valueIndex = 0; valueIndex < lineSize; ++valueIndex) {
+            final int cell = findHitGridCell(line, valueIndex, lineDrawCache, cellSize);
+            if (cell >= 0) {
+                lineDrawCache.hitGridIndexes[cellStarts[cell]++] = valueIndex;
+            }
+        }
+        System.arraycopy(cellStarts, 0, cellStarts, 1, cellsCount);
+        cellStarts[0] = 0;
+
+        lineDrawCache.hitGridStamp = line.getValuesStamp();
+        lineDrawCache.hitGridCellSize = cellSize;
+        lineDrawCache.hitGridViewport.set(visibleViewport);
+        lineDrawCache.hitGridContentRect.set(contentRect);
+        lineDrawCache.isHitGridValid = true;
+    }
+
+    private int findHitGridCell(Line line, int valueIndex, LineDrawCache lineDrawCache, float cellSize) {
+        final float column = (calculator.computeRawX(line.getValueX(valueIndex)) - lineDrawCache.hitGridLeft)
+                / cellSize;
+        final float row = (calculator.computeRawY(line.getValueY(valueIndex)) - lineDrawCache.hitGridTop) / cellSize;
+        if (column < 0 || row < 0 || column >= lineDrawCache.hitGridColumns || row >= lineDrawCache.hitGridRows) {
+            return -1;
+        }
+        return (int) row * lineDrawCache.hitGridColumns + (int) column;
+    }
+
     private void calculateMaxViewport() {
         tempMaximumViewport.set(Float.MAX_VALUE, Float.MIN_VALUE, Float.MIN_VALUE, Float.MAX_VALUE);
         LineChartData data = dataProvider.getLineChartData();
 
         for (Line line : data.getLines()) {
-            // Calculate max and min for viewport.
-            for (PointValue pointValue : line.getValues()) {
-                if (pointValue.getX() < tempMaximumViewport.left) {
-                    tempMaximumViewport.left = pointValue.getX();
-                }
-                if (pointValue.getX() > tempMaximumViewport.right) {
-                    tempMaximumViewport.right = pointValue.getX();
-                }
-                if (pointValue.getY() < tempMaximumViewport.bottom) {
-                    tempMaximumViewport.bottom = pointValue.getY();
-                }
-                if (pointValue.getY() > tempMaximumViewport.top) {
-                    tempMaximumViewport.top = pointValue.getY();
-                }
-
+            // Bounds are cached by line so only changed lines are scanned.
+            final Viewport bounds = line.getValuesBounds();
+            if (bounds.left < tempMaximumViewport.left) {
+                tempMaximumViewport.left = bounds.left;
+            }
+            if (bounds.right > tempMaximumViewport.right) {
+                tempMaximumViewport.right = bounds.right;
+            }
+            if (bounds.bottom < tempMaximumViewport.bottom) {
+                tempMaximumViewport.bottom = bounds.bottom;
+            }
+            if (bounds.top > tempMaximumViewport.top) {
+                tempMaximumViewport.top = bounds.top;
             }
         }
     }
@@ -212,73 +541,377 @@ public class LineChartRenderer extends AbstractChartRenderer {
     }
 
     /**
-     * Draws lines, uses path for drawing filled area on software canvas.
-     * Line is drawn with canvas.drawLines() method.
+     * Calculates range of values of given line that have to be processed to draw visible viewport and stores it in
+     * {@link #firstVisibleIndex} and {@link #lastVisibleIndex}. For lines sorted by X both ends are found using binary
+     * search and extended by one neighbour so segments crossing viewport edges and cubic control points stay the same,
+     * for unsorted lines range covers all values.
+     *
+     * @param margin additional margin in pixels added to both sides of the viewport.
      */
-    private void drawPath(Canvas canvas, final Line line) {
-        prepareLinePaint(line);
+    private void calculateVisibleRange(Line line, float margin) {
+        final int lineSize = line.getValuesCount();
+        firstVisibleIndex = 0;
+        lastVisibleIndex = lineSize - 1;
+        if (lineSize < 2 || !line.isSortedByX()) {
+            return;
+        }
+        final Viewport visibleViewport = calculator.getVisibleViewport();
+        final int contentWidth = calculator.getContentRectMinusAllMargins().width();
+        final float valueMargin = contentWidth > 0 ? margin * visibleViewport.width() / contentWidth : 0;
+        // First index with X >= left and last index with X <= right.
+        final int firstInside = findFirstIndexAbove(line, visibleViewport.left - valueMargin, false);
+        final int lastInside = findFirstIndexAbove(line, visibleViewport.right + valueMargin, true) - 1;
+        firstVisibleIndex = Math.max(0, firstInside - 1);
+        lastVisibleIndex = Math.min(lineSize - 1, lastInside + 1);
+    }
+
+    /**
+     * Returns index of the first value with X greater than (or equal to if inclusive is false) given X, line has to be
+     * sorted by X.
+     */
+    private int findFirstIndexAbove(Line line, float x, boolean inclusive) {
+        int low = 0;
+        int high = line.getValuesCount();
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            final float middleX = line.getValueX(middle);
+            if (middleX < x || (inclusive && middleX == x)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private LineDrawCache obtainLineDrawCache(int lineIndex, Line line) {
+        if (lineIndex >= lineDrawCaches.length) {
+            lineDrawCaches = Arrays.copyOf(lineDrawCaches, dataProvider.getLineChartData().getLines().size());
+        }
+        LineDrawCache lineDrawCache = lineDrawCaches[lineIndex];
+        if (null == lineDrawCache) {
+            lineDrawCache = new LineDrawCache();
+            lineDrawCaches[lineIndex] = lineDrawCache;
+        }
+        if (lineDrawCache.line != line) {
+            lineDrawCache.reset(line);
+        }
+        return lineDrawCache;
+    }
 
-        int valueIndex = 0;
-        for (PointValue pointValue : line.getValues()) {
+    /**
+     * Projects values of line backed by {@link PointSeries} with maximal size (streaming line). Projected points are
+     * kept relative to an anchor so they stay valid while viewport only moves, after new values are appended only
+     * those values are projected and points of removed values are dropped. Everything is projected again if scale
+     * of viewport changes or values are modified in place. Returns false for other lines.
+     */
+    private boolean projectStreamingLine(Line line, LineDrawCache lineDrawCache) {
+        final PointSeries series = line.getSeries();
+        if (null == series || series.getMaxSize() == 0) {
+            return false;
+        }
+        final Rect contentRect = calculator.getContentRectMinusAllMargins();
+        final Viewport visibleViewport = calculator.getVisibleViewport();
+        final float scaleX = contentRect.width() / visibleViewport.width();
+        final float scaleY = contentRect.height() / visibleViewport.height();
+        if (!lineDrawCache.isProjectionValid || lineDrawCache.projectedSeries != series
+                || lineDrawCache.projectionRewriteCount != series.getRewriteCount()
+                || lineDrawCache.projectionScaleX != scaleX || lineDrawCache.projectionScaleY != scaleY
+                || Math.abs(lineDrawCache.projectionAnchorX - visibleViewport.left)
+                > PROJECTION_MAX_ANCHOR_DISTANCE * visibleViewport.width()
+                || Math.abs(lineDrawCache.projectionAnchorY - visibleViewport.bottom)
+                > PROJECTION_MAX_ANCHOR_DISTANCE * visibleViewport.height()) {
+            lineDrawCache.projectedSeries = series;
+            lineDrawCache.projectionRewriteCount = series.getRewriteCount();
+            lineDrawCache.projectionScaleX = scaleX;
+            lineDrawCache.projectionScaleY = scaleY;
+            lineDrawCache.projectionAnchorX = visibleViewport.left;
+            lineDrawCache.projectionAnchorY = visibleViewport.bottom;
+            lineDrawCache.projectedStart = 0;
+            lineDrawCache.projectedCount = 0;
+            lineDrawCache.projectedFirstSequence = series.getRemovedCount();
+            lineDrawCache.isProjectionValid = true;
+        }
 
-            final float rawX = calculator.computeRawX(pointValue.getX());
-            final float rawY = calculator.computeRawY(pointValue.getY());
+        final long removedCount = series.getRemovedCount() - lineDrawCache.projectedFirstSequence;
+        if (removedCount >= lineDrawCache.projectedCount) {
+            lineDrawCache.projectedStart = 0;
+            lineDrawCache.projectedCount = 0;
+        } else if (removedCount > 0) {
+            lineDrawCache.projectedStart += (int) removedCount;
+            lineDrawCache.projectedCount -= (int) removedCount;
+        }
+        lineDrawCache.projectedFirstSequence = series.getRemovedCount();
+
+        final int size = series.size();
+        if (lineDrawCache.projectedCount < size) {
+            if ((lineDrawCache.projectedStart + size) * 2 > lineDrawCache.projectedPoints.length) {
+                // Move points to the beginning, allocate twice as much space as needed so that happens rarely.
+                final float[] points = lineDrawCache.projectedPoints.length >= size * 4
+                        ? lineDrawCache.projectedPoints : new float[size * 4];
+                System.arraycopy(lineDrawCache.projectedPoints, lineDrawCache.projectedStart * 2, points, 0,
+                        lineDrawCache.projectedCount * 2);
+                lineDrawCache.projectedPoints = points;
+                lineDrawCache.projectedStart = 0;
+            }
+            final float[] points = lineDrawCache.projectedPoints;
+            for (int valueIndex = lineDrawCache.projectedCount; valueIndex < size; ++valueIndex) {
+                final int position = (lineDrawCache.projectedStart + valueIndex) * 2;
+                points[position] = (series.getX(valueIndex) - lineDrawCache.projectionAnchorX) * scaleX;
+                points[position + 1] = (lineDrawCache.projectionAnchorY - series.getY(valueIndex)) * scaleY;
+            }
+            lineDrawCache.projectedCount = size;
+        }
+        return true;
+    }
 
-            if (valueIndex == 0) {
+    /**
+     * Draws straight or square line using points computed by {@link #projectStreamingLine(Line, LineDrawCache)}.
+     */
+    private void drawStreamingPath(Canvas canvas, final Line line, LineDrawCache lineDrawCache) {
+        prepareLinePaint(line);
+        calculateVisibleRange(line, 0);
+
+        final Rect contentRect = calculator.getContentRectMinusAllMargins();
+        final Viewport visibleViewport = calculator.getVisibleViewport();
+        final float offsetX = contentRect.left
+                + (lineDrawCache.projectionAnchorX - visibleViewport.left) * lineDrawCache.projectionScaleX;
+        final float offsetY = contentRect.bottom
+                - (lineDrawCache.projectionAnchorY - visibleViewport.bottom) * lineDrawCache.projectionScaleY;
+        final float[] points = lineDrawCache.projectedPoints;
+        final boolean isSquare = line.isSquare();
+        float previousRawY = 0;
+        for (int valueIndex = firstVisibleIndex; valueIndex <= lastVisibleIndex; ++valueIndex) {
+            final int position = (lineDrawCache.projectedStart + valueIndex) * 2;
+            final float rawX = points[position] + offsetX;
+            final float rawY = points[position + 1] + offsetY;
+            if (valueIndex == firstVisibleIndex) {
                 path.moveTo(rawX, rawY);
             } else {
+                if (isSquare) {
+                    path.lineTo(rawX, previousRawY);
+                }
                 path.lineTo(rawX, rawY);
             }
+            previousRawY = rawY;
+        }
 
-            ++valueIndex;
+        canvas.drawPath(path, linePaint);
 
+        if (line.isFilled()) {
+            drawArea(canvas, line, lineDrawCache);
+        }
+
+        path.reset();
+    }
+
+    /**
+     * Computes raw coordinates of points needed to draw given line at current resolution (min/max decimation), for
+     * every pixel column of the content rect only first, last, minimum and maximum points are kept so polyline looks
+     * the same while it has at most four points per pixel. Result is stored in lineDrawCache and recalculated only
+     * if viewport, content rect or line values changed. With background preparation enabled points of the latest
+     * prepared frame are used instead when that frame covers current viewport. Returns false if decimation is not
+     * possible or not needed for this line.
+     */
+    private boolean decimateLine(int lineIndex, Line line, LineDrawCache lineDrawCache) {
+        if (!line.isSortedByX()) {
+            return false;
+        }
+        final Rect contentRect = calculator.getContentRectMinusAllMargins();
+        final Viewport visibleViewport = calculator.getVisibleViewport();
+        calculateVisibleRange(line, 0);
+        if (lastVisibleIndex - firstVisibleIndex + 1 <= DECIMATION_MIN_VALUES_PER_PIXEL * contentRect.width()) {
+            return false;
+        }
+        final GeometryPreparer.Frame frame = null == geometryPreparer ? null : geometryPreparer.getFrontFrame();
+        final long generation = null == frame ? -1 : frame.getGeneration();
+        if (lineDrawCache.isDecimationValid && lineDrawCache.decimationStamp == line.getValuesStamp()
+                && lineDrawCache.decimationGeneration == generation
+                && lineDrawCache.decimationViewport.equals(visibleViewport)
+                && lineDrawCache.decimationContentRect.equals(contentRect)) {
+            return true;
+        }
+
+        final float[] preparedPoints = null == frame ? null
+                : frame.mapPoints(lineIndex, line, visibleViewport, contentRect, lineDrawCache.decimatedPoints);
+        if (null != preparedPoints) {
+            lineDrawCache.decimatedPoints = preparedPoints;
+            lineDrawCache.decimatedPointsCount = frame.getCount(lineIndex);
+        } else {
+            lineDrawCache.decimatedPointsCount = decimator.decimate(line, firstVisibleIndex, lastVisibleIndex,
+                    lineDrawCache.decimatedPoints, contentRect.width() + 1, contentRect.left, visibleViewport.left,
+                    contentRect.width() / visibleViewport.width(), contentRect.bottom, visibleViewport.bottom,
+                    contentRect.height() / visibleViewport.height());
+            lineDrawCache.decimatedPoints = decimator.getPoints();
+        }
+
+        lineDrawCache.decimationStamp = line.getValuesStamp();
+        lineDrawCache.decimationGeneration = generation;
+        lineDrawCache.decimationViewport.set(visibleViewport);
+        lineDrawCache.decimationContentRect.set(contentRect);
+        lineDrawCache.isDecimationValid = true;
+        return true;
+    }
+
+    /**
+     * Draws straight or square line using points computed by {@link #decimateLine(int, Line, LineDrawCache)}.
+     */
+    private void drawDecimatedPath(Canvas canvas, final Line line, LineDrawCache lineDrawCache) {
+        prepareLinePaint(line);
+
+        final float[] points = lineDrawCache.decimatedPoints;
+        final int count = lineDrawCache.decimatedPointsCount;
+        final boolean isSquare = line.isSquare();
+        path.moveTo(points[0], points[1]);
+        for (int i = 2; i < count; i += 2) {
+            if (isSquare) {
+                path.lineTo(points[i], points[i - 1]);
+            }
+            path.lineTo(points[i], points[i + 1]);
         }
 
         canvas.drawPath(path, linePaint);
 
         if (line.isFilled()) {
-            drawArea(canvas, line);
+            drawArea(canvas, line, lineDrawCache, points[0], points[count - 2]);
         }
 
         path.reset();
     }
 
-    private void drawSquarePath(Canvas canvas, final Line line) {
+    /**
+     * Draws lines, uses path for drawing filled area on software canvas.
+     * Line is drawn with canvas.drawLines() method.
+     */
+    private void drawPath(Canvas canvas, final Line line, LineDrawCache lineDrawCache) {
         prepareLinePaint(line);
+        calculateVisibleRange(line, 0);
+        buildPath(line, firstVisibleIndex, lastVisibleIndex, null);
 
-        int valueIndex = 0;
-        float previousRawY = 0;
-        for (PointValue pointValue : line.getValues()) {
+        canvas.drawPath(path, linePaint);
 
-            final float rawX = calculator.computeRawX(pointValue.getX());
-            final float rawY = calculator.computeRawY(pointValue.getY());
+        if (line.isFilled()) {
+            drawArea(canvas, line, lineDrawCache);
+        }
 
-            if (valueIndex == 0) {
+        path.reset();
+    }
+
+    /**
+     * Path building methods put raw coordinates into path, or values relative to path origin of valuePathCache if it
+     * is not null, see {@link #drawCachedPath(Canvas, Line, LineDrawCache)}.
+     */
+    private void buildPath(final Line line, int firstIndex, int lastIndex, LineDrawCache valuePathCache) {
+        for (int valueIndex = firstIndex; valueIndex <= lastIndex; ++valueIndex) {
+
+            final float rawX = pathX(line.getValueX(valueIndex), valuePathCache);
+            final float rawY = pathY(line.getValueY(valueIndex), valuePathCache);
+
+            if (valueIndex == firstIndex) {
                 path.moveTo(rawX, rawY);
             } else {
-                path.lineTo(rawX, previousRawY);
                 path.lineTo(rawX, rawY);
             }
 
-            previousRawY = rawY;
-
-            ++valueIndex;
-
         }
+    }
+
+    private void drawSquarePath(Canvas canvas, final Line line, LineDrawCache lineDrawCache) {
+        prepareLinePaint(line);
+        calculateVisibleRange(line, 0);
+        buildSquarePath(line, firstVisibleIndex, lastVisibleIndex, null);
 
         canvas.drawPath(path, linePaint);
 
         if (line.isFilled()) {
-            drawArea(canvas, line);
+            drawArea(canvas, line, lineDrawCache);
         }
 
         path.reset();
     }
 
-    private void drawSmoothPath(Canvas canvas, final Line line) {
+    private void buildSquarePath(final Line line, int firstIndex, int lastIndex, LineDrawCache valuePathCache) {
+        float previousRawY = 0;
+        for (int valueIndex = firstIndex; valueIndex <= lastIndex; ++valueIndex) {
+
+            final float rawX = pathX(line.getValueX(valueIndex), valuePathCache);
+            final float rawY = pathY(line.getValueY(valueIndex), valuePathCache);
+
+            if (valueIndex == firstIndex) {
+                path.moveTo(rawX, rawY);
+            } else {
+                path.lineTo(rawX, previousRawY);
+                path.lineTo(rawX, rawY);
+            }
+
+            previousRawY = rawY;
+
+        }
+    }
+
+    private void drawSmoothPath(Canvas canvas, final Line line, LineDrawCache lineDrawCache) {
+        calculateVisibleRange(line, 0);
+        if (line.isDecimated() && line.isSortedByX()) {
+            final int level = selectDetailLevel(line, lineDrawCache.pyramid);
+            if (level > 0) {
+                final DownsamplingPyramid pyramid = lineDrawCache.pyramid;
+                final int levelSize = pyramid.getLevelSize(level);
+                // Positions of the first and the last selected value within visible range, extended by one
+                // neighbour the same way as visible range itself.
+                int firstPosition = pyramid.findPosition(level, firstVisibleIndex);
+                firstPosition = firstPosition >= 0 ? firstPosition : Math.max(0, -firstPosition - 2);
+                int lastPosition = pyramid.findPosition(level, lastVisibleIndex);
+                lastPosition = lastPosition >= 0 ? lastPosition : Math.min(levelSize - 1, -lastPosition - 1);
+                drawSmoothPath(canvas, line, lineDrawCache, level, levelSize, firstPosition, lastPosition);
+                return;
+            }
+        }
+        drawSmoothPath(canvas, line, lineDrawCache, 0, line.getValuesCount(), firstVisibleIndex,
+                lastVisibleIndex);
+    }
+
+    /**
+     * Selects level of detail of given line for current viewport, the coarsest level that still has at least one
+     * visible value per pixel of content width. Returns 0 if line should be drawn in full resolution.
+     */
+    private int selectDetailLevel(Line line, DownsamplingPyramid pyramid) {
+        final int contentWidth = calculator.getContentRectMinusAllMargins().width();
+        final int visibleCount = lastVisibleIndex - firstVisibleIndex + 1;
+        if (contentWidth <= 0 || visibleCount < DECIMATION_MIN_VALUES_PER_PIXEL * contentWidth) {
+            return 0;
+        }
+        pyramid.update(line);
+        int level = 0;
+        while (level < pyramid.getLevelsCount() && (visibleCount >> (level + 1)) >= contentWidth) {
+            ++level;
+        }
+        return level;
+    }
+
+    /**
+     * Draws cubic line through values at positions from firstPosition to lastPosition of given level of detail, if
+     * level is 0 positions are value indexes, otherwise they are mapped to value indexes by pyramid of the line.
+     */
+    private void drawSmoothPath(Canvas canvas, final Line line, LineDrawCache lineDrawCache, int level, int size,
+                                int firstPosition, int lastPosition) {
         prepareLinePaint(line);
+        buildSmoothPath(line, lineDrawCache.pyramid, level, size, firstPosition, lastPosition, null);
 
-        final int lineSize = line.getValues().size();
+        canvas.drawPath(path, linePaint);
+        if (line.isFilled() && lastPosition > firstPosition) {
+            drawArea(canvas, line, lineDrawCache,
+                    calculator.computeRawX(line.getValueX(valueIndex(lineDrawCache.pyramid, level, firstPosition))),
+                    calculator.computeRawX(line.getValueX(valueIndex(lineDrawCache.pyramid, level, lastPosition))));
+        }
+        path.reset();
+    }
+
+    /**
+     * Control points are linear combinations of neighbouring points, so path built in value space and transformed to
+     * raw coordinates later is the same as path built from raw coordinates.
+     */
+    private void buildSmoothPath(final Line line, DownsamplingPyramid pyramid, int level, int size, int firstPosition,
+                                 int lastPosition, LineDrawCache valuePathCache) {
         float prePreviousPointX = Float.NaN;
         float prePreviousPointY = Float.NaN;
         float previousPointX = Float.NaN;
@@ -288,17 +921,19 @@ public class LineChartRenderer extends AbstractChartRenderer {
         float nextPointX;
         float nextPointY;
 
-        for (int valueIndex = 0; valueIndex < lineSize; ++valueIndex) {
+        // Neighbours are taken from the whole line, not only from visible range, so control points are the same as
+        // if whole line was drawn.
+        for (int position = firstPosition; position <= lastPosition; ++position) {
             if (Float.isNaN(currentPointX)) {
-                PointValue linePoint = line.getValues().get(valueIndex);
-                currentPointX = calculator.computeRawX(linePoint.getX());
-                currentPointY = calculator.computeRawY(linePoint.getY());
+                final int valueIndex = valueIndex(pyramid, level, position);
+                currentPointX = pathX(line.getValueX(valueIndex), valuePathCache);
+                currentPointY = pathY(line.getValueY(valueIndex), valuePathCache);
             }
             if (Float.isNaN(previousPointX)) {
-                if (valueIndex > 0) {
-                    PointValue linePoint = line.getValues().get(valueIndex - 1);
-                    previousPointX = calculator.computeRawX(linePoint.getX());
-                    previousPointY = calculator.computeRawY(linePoint.getY());
+                if (position > 0) {
+                    final int valueIndex = valueIndex(pyramid, level, position - 1);
+                    previousPointX = pathX(line.getValueX(valueIndex), valuePathCache);
+                    previousPointY = pathY(line.getValueY(valueIndex), valuePathCache);
                 } else {
                     previousPointX = currentPointX;
                     previousPointY = currentPointY;
@@ -306,10 +941,10 @@ public class LineChartRenderer extends AbstractChartRenderer {
             }
 
             if (Float.isNaN(prePreviousPointX)) {
-                if (valueIndex > 1) {
-                    PointValue linePoint = line.getValues().get(valueIndex - 2);
-                    prePreviousPointX = calculator.computeRawX(linePoint.getX());
-                    prePreviousPointY = calculator.computeRawY(linePoint.getY());
+                if (position > 1) {
+                    final int valueIndex = valueIndex(pyramid, level, position - 2);
+                    prePreviousPointX = pathX(line.getValueX(valueIndex), valuePathCache);
+                    prePreviousPointY = pathY(line.getValueY(valueIndex), valuePathCache);
                 } else {
                     prePreviousPointX = previousPointX;
                     prePreviousPointY = previousPointY;
@@ -317,16 +952,16 @@ public class LineChartRenderer extends AbstractChartRenderer {
             }
 
             // nextPoint is always new one or it is equal currentPoint.
-            if (valueIndex < lineSize - 1) {
-                PointValue linePoint = line.getValues().get(valueIndex + 1);
-                nextPointX = calculator.computeRawX(linePoint.getX());
-                nextPointY = calculator.computeRawY(linePoint.getY());
+            if (position < size - 1) {
+                final int valueIndex = valueIndex(pyramid, level, position + 1);
+                nextPointX = pathX(line.getValueX(valueIndex), valuePathCache);
+                nextPointY = pathY(line.getValueY(valueIndex), valuePathCache);
             } else {
                 nextPointX = currentPointX;
                 nextPointY = currentPointY;
             }
 
-            if (valueIndex == 0) {
+            if (position == firstPosition) {
                 // Move to start point.
                 path.moveTo(currentPointX, currentPointY);
             } else {
@@ -353,14 +988,62 @@ public class LineChartRenderer extends AbstractChartRenderer {
             currentPointX = nextPointX;
             currentPointY = nextPointY;
         }
+    }
+
+    /**
+     * Draws the whole line from path cached in value space, path is only transformed to raw coordinates of current
+     * viewport so it is rebuilt just when values or shape of the line change.
+     */
+    private void drawCachedPath(Canvas canvas, final Line line, LineDrawCache lineDrawCache) {
+        final int lineSize = line.getValuesCount();
+        if (lineSize == 0) {
+            return;
+        }
+        if (!lineDrawCache.isValuePathValid || lineDrawCache.valuePathStamp != line.getValuesStamp()
+                || lineDrawCache.isValuePathCubic != line.isCubic()
+                || lineDrawCache.isValuePathSquare != line.isSquare()) {
+            // Path is kept relative to the first value so big values don't lose float precision.
+            lineDrawCache.valuePathOriginX = line.getValueX(0);
+            lineDrawCache.valuePathOriginY = line.getValueY(0);
+            if (line.isCubic()) {
+                buildSmoothPath(line, null, 0, lineSize, 0, lineSize - 1, lineDrawCache);
+            } else if (line.isSquare()) {
+                buildSquarePath(line, 0, lineSize - 1, lineDrawCache);
+            } else {
+                buildPath(line, 0, lineSize - 1, lineDrawCache);
+            }
+            lineDrawCache.valuePath.set(path);
+            path.reset();
+            lineDrawCache.valuePathStamp = line.getValuesStamp();
+            lineDrawCache.isValuePathCubic = line.isCubic();
+            lineDrawCache.isValuePathSquare = line.isSquare();
+            lineDrawCache.isValuePathValid = true;
+        }
+
+        prepareLinePaint(line);
+        calculator.computeRawMatrix(lineDrawCache.valuePathOriginX, lineDrawCache.valuePathOriginY, pathMatrix);
+        lineDrawCache.valuePath.transform(pathMatrix, path);
 
         canvas.drawPath(path, linePaint);
-        if (line.isFilled()) {
-            drawArea(canvas, line);
+        if (line.isFilled() && lineSize > 1) {
+            drawArea(canvas, line, lineDrawCache, calculator.computeRawX(line.getValueX(0)),
+                    calculator.computeRawX(line.getValueX(lineSize - 1)));
         }
         path.reset();
     }
 
+    private float pathX(float valueX, LineDrawCache valuePathCache) {
+        return null == valuePathCache ? calculator.computeRawX(valueX) : valueX - valuePathCache.valuePathOriginX;
+    }
+
+    private float pathY(float valueY, LineDrawCache valuePathCache) {
+        return null == valuePathCache ? calculator.computeRawY(valueY) : valueY - valuePathCache.valuePathOriginY;
+    }
+
+    private static int valueIndex(DownsamplingPyramid pyramid, int level, int position) {
+        return 0 == level ? position : pyramid.getValueIndex(level, position);
+    }
+
     private void prepareLinePaint(final Line line) {
         linePaint.setStrokeWidth(ChartUtils.dp2px(density, line.getStrokeWidth()));
         linePaint.setColor(line.getColor());
@@ -373,30 +1056,121 @@ public class LineChartRenderer extends AbstractChartRenderer {
     // implementing point styles.
     private void drawPoints(Canvas canvas, Line line, int lineIndex, int mode) {
         pointPaint.setColor(line.getPointColor());
-        int valueIndex = 0;
-        for (PointValue pointValue : line.getValues()) {
-            int pointRadius = ChartUtils.dp2px(density, line.getPointRadius());
-            final float rawX = calculator.computeRawX(pointValue.getX());
-            final float rawY = calculator.computeRawY(pointValue.getY());
+        final int pointRadius = ChartUtils.dp2px(density, line.getPointRadius());
+        if (MODE_HIGHLIGHT == mode) {
+            // Only selected value has to be processed.
+            final int valueIndex = selectedValue.getSecondIndex();
+            if (valueIndex >= 0 && valueIndex < line.getValuesCount()) {
+                final float rawX = calculator.computeRawX(line.getValueX(valueIndex));
+                final float rawY = calculator.computeRawY(line.getValueY(valueIndex));
+                if (calculator.isWithinContentRect(rawX, rawY, checkPrecision)) {
+                    highlightPoint(canvas, line, valueIndex, rawX, rawY, lineIndex);
+                }
+            }
+            return;
+        } else if (MODE_DRAW != mode) {
+            throw new IllegalStateException("Cannot process points in mode: " + mode);
+        }
+
+        calculateVisibleRange(line, checkPrecision);
+        if (canDrawPointsInBatch(line)) {
+            drawPointsInBatch(canvas, line, pointRadius);
+            return;
+        }
+        for (int valueIndex = firstVisibleIndex; valueIndex <= lastVisibleIndex; ++valueIndex) {
+            final float rawX = calculator.computeRawX(line.getValueX(valueIndex));
+            final float rawY = calculator.computeRawY(line.getValueY(valueIndex));
             if (calculator.isWithinContentRect(rawX, rawY, checkPrecision)) {
                 // Draw points only if they are within contentRectMinusAllMargins,
                 // using contentRectMinusAllMargins instead of viewport to avoid
                 // some float rounding problems.
-                if (MODE_DRAW == mode) {
-                    drawPoint(canvas, line, rawX, rawY, pointRadius);
-                    if (line.hasLabels()) {
-                        drawLabel(canvas, line, pointValue, rawX, rawY, pointRadius + labelOffset);
-                    }
-                } else if (MODE_HIGHLIGHT == mode) {
-                    highlightPoint(canvas, line, pointValue, rawX, rawY, lineIndex, valueIndex);
-                } else {
-                    throw new IllegalStateException("Cannot process points in mode: " + mode);
+                drawPoint(canvas, line, rawX, rawY, pointRadius);
+                if (line.hasLabels()) {
+                    drawLabel(canvas, line, line.getValue(valueIndex, tempPointValue), rawX, rawY,
+                            pointRadius + labelOffset);
                 }
             }
-            ++valueIndex;
         }
     }
 
+    /**
+     * Circles and squares are drawn with one {@link Canvas#drawPoints(float[], int, int, Paint)} call, diamonds with one
+     * {@link Canvas#drawPath(Path, Paint)} call.
+     */
+    private boolean canDrawPointsInBatch(Line line) {
+        return ValueShape.CIRCLE.equals(line.getShape()) || ValueShape.SQUARE.equals(line.getShape())
+                || ValueShape.DIAMOND.equals(line.getShape());
+    }
+
+    /**
+     * Draws all visible points of given line with a single canvas call, labels are drawn one by one on top of points.
+     */
+    private void drawPointsInBatch(Canvas canvas, Line line, int pointRadius) {
+        final int maxCount = (lastVisibleIndex - firstVisibleIndex + 1) * 2;
+        if (pointsBuffer.length < maxCount) {
+            pointsBuffer = new float[maxCount];
+        }
+        final boolean hasLabels = line.hasLabels();
+        if (hasLabels && pointsIndexesBuffer.length < maxCount / 2) {
+            pointsIndexesBuffer = new int[maxCount / 2];
+        }
+        for (int valueIndex = firstVisibleIndex, i = 0; valueIndex <= lastVisibleIndex; ++valueIndex, i += 2) {
+            pointsBuffer[i] = line.getValueX(valueIndex);
+            pointsBuffer[i + 1] = line.getValueY(valueIndex);
+        }
+        calculator.computeRawPoints(pointsBuffer, 0, pointsBuffer, maxCount / 2);
+        // Points outside of content rect are skipped, the rest is moved towards the beginning of the buffer.
+        int count = 0;
+        for (int i = 0; i < maxCount; i += 2) {
+            final float rawX = pointsBuffer[i];
+            final float rawY = pointsBuffer[i + 1];
+            if (calculator.isWithinContentRect(rawX, rawY, checkPrecision)) {
+                if (hasLabels) {
+                    pointsIndexesBuffer[count / 2] = firstVisibleIndex + i / 2;
+                }
+                pointsBuffer[count++] = rawX;
+                pointsBuffer[count++] = rawY;
+            }
+        }
+        if (count == 0) {
+            return;
+        }
+
+        if (ValueShape.DIAMOND.equals(line.getShape())) {
+            drawDiamonds(canvas, count, pointRadius);
+        } else {
+            pointPaint.setStrokeCap(ValueShape.CIRCLE.equals(line.getShape()) ? Cap.ROUND : Cap.SQUARE);
+            pointPaint.setStrokeWidth(pointRadius * 2);
+            canvas.drawPoints(pointsBuffer, 0, count, pointPaint);
+        }
+
+        if (hasLabels) {
+            for (int i = 0; i < count; i += 2) {
+                drawLabel(canvas, line, line.getValue(pointsIndexesBuffer[i / 2], tempPointValue), pointsBuffer[i],
+                        pointsBuffer[i + 1], pointRadius + labelOffset);
+            }
+        }
+    }
+
+    /**
+     * Draws diamonds centered at points from {@link #pointsBuffer} as one path, every diamond is a square rotated by
+     * 45 degrees. Path is rewound after drawing so its storage is reused.
+     */
+    private void drawDiamonds(Canvas canvas, int count, int pointRadius) {
+        final float diagonal = pointRadius * SQRT_2;
+        for (int i = 0; i < count; i += 2) {
+            final float x = pointsBuffer[i];
+            final float y = pointsBuffer[i + 1];
+            diamondsPath.moveTo(x, y - diagonal);
+            diamondsPath.lineTo(x + diagonal, y);
+            diamondsPath.lineTo(x, y + diagonal);
+            diamondsPath.lineTo(x - diagonal, y);
+            diamondsPath.close();
+        }
+        canvas.drawPath(diamondsPath, pointPaint);
+        diamondsPath.rewind();
+    }
+
     private void drawPoint(Canvas canvas, Line line, float rawX, float rawY, float pointRadius) {
         if (ValueShape.SQUARE.equals(line.getShape())) {
             canvas.drawRect(rawX - pointRadius, rawY - pointRadius,
@@ -420,14 +1194,15 @@ public class LineChartRenderer extends AbstractChartRenderer {
         drawPoints(canvas, line, lineIndex, MODE_HIGHLIGHT);
     }
 
-    private void highlightPoint(Canvas canvas, Line line, PointValue pointValue,
-                                float rawX, float rawY, int lineIndex, int valueIndex) {
+    private void highlightPoint(Canvas canvas, Line line, int valueIndex,
+                                float rawX, float rawY, int lineIndex) {
         if (selectedValue.getFirstIndex() == lineIndex && selectedValue.getSecondIndex() == valueIndex) {
             int pointRadius = ChartUtils.dp2px(density, line.getPointRadius());
             pointPaint.setColor(line.getDarkenColor());
             drawPoint(canvas, line, rawX, rawY, pointRadius + touchToleranceMargin);
             if (line.hasLabels() || line.hasLabelsOnlyForSelected()) {
-                drawLabel(canvas, line, pointValue, rawX, rawY, pointRadius + labelOffset);
+                drawLabel(canvas, line, line.getValue(valueIndex, tempPointValue), rawX, rawY,
+                        pointRadius + labelOffset);
             }
         }
     }
@@ -441,8 +1216,7 @@ public class LineChartRenderer extends AbstractChartRenderer {
             return;
         }
 
-        final float labelWidth = labelPaint.measureText(labelBuffer,
-                labelBuffer.length - numChars, numChars);
+        final float labelWidth = measureLabel(labelBuffer, labelBuffer.length - numChars, numChars);
         final int labelHeight = Math.abs(fontMetrics.ascent);
         float left = rawX - labelWidth / 2 - labelMargin;
         float right = rawX + labelWidth / 2 + labelMargin;
@@ -480,20 +1254,27 @@ public class LineChartRenderer extends AbstractChartRenderer {
                 line.getDarkenColor());
     }
 
-    private void drawArea(Canvas canvas, Line line) {
-        final int lineSize = line.getValues().size();
+    private void drawArea(Canvas canvas, Line line, LineDrawCache lineDrawCache) {
+        final int lineSize = line.getValuesCount();
         if (lineSize < 2) {
             //No point to draw area for one point or empty line.
             return;
         }
+        drawArea(canvas, line, lineDrawCache, calculator.computeRawX(line.getValueX(firstVisibleIndex)),
+                calculator.computeRawX(line.getValueX(lastVisibleIndex)));
+    }
 
+    /**
+     * Closes current path down to base value and fills it, firstRawX and lastRawX are raw X coordinates of the first
+     * and the last point of the path.
+     */
+    private void drawArea(Canvas canvas, Line line, LineDrawCache lineDrawCache, float firstRawX, float lastRawX) {
         final Rect contentRect = calculator.getContentRectMinusAllMargins();
         final float baseRawValue = Math.min(contentRect.bottom, Math.max(calculator.computeRawY(baseValue),
                 contentRect.top));
         //That checks works only if the last point is the right most one.
-        final float left = Math.max(calculator.computeRawX(line.getValues().get(0).getX()), contentRect.left);
-        final float right = Math.min(calculator.computeRawX(line.getValues().get(lineSize - 1).getX()),
-                contentRect.right);
+        final float left = Math.max(firstRawX, contentRect.left);
+        final float right = Math.min(lastRawX, contentRect.right);
 
         path.lineTo(right, baseRawValue);
         path.lineTo(left, baseRawValue);
@@ -501,18 +1282,165 @@ public class LineChartRenderer extends AbstractChartRenderer {
 
         linePaint.setStyle(Paint.Style.FILL);
         linePaint.setAlpha(line.getAreaTransparency());
-        linePaint.setShader(line.getGradientToTransparent() ?
-                new LinearGradient(0, 0, 0, canvas.getHeight(), line.getColor(),
-                        line.getColor() & 0x00ffffff, Shader.TileMode.MIRROR) :
-                null);
+        linePaint.setShader(line.getGradientToTransparent() ? obtainAreaShader(canvas, line, lineDrawCache) : null);
         canvas.drawPath(path, linePaint);
         linePaint.setStyle(Paint.Style.STROKE);
     }
 
+    /**
+     * Returns gradient used to fill area of given line, gradient is created again only when color of the line or
+     * height of the canvas changes.
+     */
+    private Shader obtainAreaShader(Canvas canvas, Line line, LineDrawCache lineDrawCache) {
+        final int height = canvas.getHeight();
+        if (null == lineDrawCache.areaShader || lineDrawCache.areaShaderColor != line.getColor()
+                || lineDrawCache.areaShaderHeight != height) {
+            lineDrawCache.areaShader = new LinearGradient(0, 0, 0, height, line.getColor(),
+                    line.getColor() & 0x00ffffff, Shader.TileMode.MIRROR);
+            lineDrawCache.areaShaderColor = line.getColor();
+            lineDrawCache.areaShaderHeight = height;
+        }
+        return lineDrawCache.areaShader;
+    }
+
     private boolean isInArea(float x, float y, float touchX, float touchY, float radius) {
         float diffX = touchX - x;
         float diffY = touchY - y;
-        return Math.pow(diffX, 2) + Math.pow(diffY, 2) <= 2 * Math.pow(radius, 2);
+        return diffX * diffX + diffY * diffY <= 2 * radius * radius;
+    }
+
+    /**
+     * @see #setLayerStrategy(LayerStrategy)
+     */
+    public LayerStrategy getLayerStrategy() {
+        return layerStrategy;
+    }
+
+    /**
+     * Sets where lines are drawn before they appear on the chart, default is {@link LayerStrategy#AUTO}.
+     */
+    public void setLayerStrategy(LayerStrategy layerStrategy) {
+        if (null == layerStrategy) {
+            throw new IllegalArgumentException("Layer strategy cannot be null");
+        }
+        this.layerStrategy = layerStrategy;
+        if (LayerStrategy.SOFTWARE_BITMAP != layerStrategy && LayerStrategy.AUTO != layerStrategy) {
+            releaseSoftwareBitmap();
+        }
     }
 
+    /**
+     * Stops worker thread of background preparation, it is started again when chart is drawn.
+     */
+    @Override
+    public void onChartDetachedFromWindow() {
+        if (null != geometryPreparer) {
+            geometryPreparer.release();
+            invalidateDataLayers();
+        }
+    }
+
+    public boolean isBackgroundPreparationEnabled() {
+        return null != geometryPreparer;
+    }
+
+    /**
+     * Enables decimation of long straight and square lines on a worker thread. While viewport is scrolled or zoomed
+     * the last prepared frame is mapped to current viewport, so drawing doesn't wait for decimation, and chart is
+     * invalidated when frame for current viewport is ready. Lines sorted by X with
+     * {@link Line#setDecimated(boolean)} enabled are prepared. Values within three viewport widths around visible ones
+     * are copied on the main thread when viewport leaves the copied range or values change, worker reads only these
+     * copies, lines modified after they were copied are decimated on the main thread until the next frame is ready.
+     * Disabled by default, the worker thread is stopped when chart is detached from window or this option is disabled.
+     */
+    public void setBackgroundPreparationEnabled(boolean isEnabled) {
+        if (isEnabled && null == geometryPreparer) {
+            geometryPreparer = new GeometryPreparer(() -> {
+                if (chart instanceof View)
+                    ViewCompat.postInvalidateOnAnimation((View) chart);
+            });
+        } else if (!isEnabled && null != geometryPreparer) {
+            geometryPreparer.release();
+            geometryPreparer = null;
+            invalidateDataLayers();
+        }
+    }
+
+    /**
+     * Data cached for a single line between frames.
+     */
+    private static class LineDrawCache {
+        private Line line;
+        /**
+         * Raw coordinates(x, y pairs) of decimated points, valid only for the stamp, viewport and content rect below.
+         */
+        private float[] decimatedPoints = new float[0];
+        private int decimatedPointsCount;
+        private boolean isDecimationValid;
+        private long decimationStamp;
+        /**
+         * Generation of prepared frame the points were taken from or computed with, -1 without background preparation.
+         */
+        private long decimationGeneration;
+        private final Viewport decimationViewport = new Viewport();
+        private final Rect decimationContentRect = new Rect();
+        /**
+         * Levels of detail used to draw decimated cubic line, built lazily and extended when values are appended.
+         */
+        private final DownsamplingPyramid pyramid = new DownsamplingPyramid();
+        /**
+         * Points of streaming line projected with current scale relative to anchor, x and y pairs starting at
+         * projectedStart point. The first point is value number projectedFirstSequence of the series.
+         */
+        private float[] projectedPoints = new float[0];
+        private int projectedStart;
+        private int projectedCount;
+        private long projectedFirstSequence;
+        private PointSeries projectedSeries;
+        private int projectionRewriteCount;
+        private float projectionScaleX;
+        private float projectionScaleY;
+        private float projectionAnchorX;
+        private float projectionAnchorY;
+        private boolean isProjectionValid;
+        /**
+         * Grid used to find touched values of lines not sorted by X, for every cell indexes of values within that
+         * cell are stored in hitGridIndexes from hitGridCellStarts[cell] to hitGridCellStarts[cell + 1].
+         */
+        private int[] hitGridCellStarts = new int[0];
+        private int[] hitGridIndexes = new int[0];
+        private float hitGridLeft;
+        private float hitGridTop;
+        private int hitGridColumns;
+        private int hitGridRows;
+        private float hitGridCellSize;
+        private boolean isHitGridValid;
+        private long hitGridStamp;
+        private final Viewport hitGridViewport = new Viewport();
+        private final Rect hitGridContentRect = new Rect();
+        /**
+         * Path of the whole line in value space relative to its origin, valid for the stamp and shape below.
+         */
+        private final Path valuePath = new Path();
+        private float valuePathOriginX;
+        private float valuePathOriginY;
+        private boolean isValuePathValid;
+        private long valuePathStamp;
+        private boolean isValuePathCubic;
+        private boolean isValuePathSquare;
+        /**
+         * Gradient used to fill area under the line, valid for the color and canvas height below.
+         */
+        private Shader areaShader;
+        private int areaShaderColor;
+        private int areaShaderHeight;
+
+        private void reset(Line line) {
+            this.line = line;
+            isDecimationValid = false;
+            isProjectionValid = false;
+            isHitGridValid = false;
+            isValuePathValid = false;
+        }
+    }
 }
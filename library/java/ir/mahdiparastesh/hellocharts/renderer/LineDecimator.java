@@ -0,0 +1,157 @@
+package ir.mahdiparastesh.hellocharts.renderer;
+
+import java.util.Arrays;
+
+import ir.mahdiparastesh.hellocharts.model.Line;
+
+/**
+ * Min/max decimation of lines sorted by X. For every pixel column only first, last, minimum and maximum points are
+ * kept so polyline looks the same while it has at most four points per pixel. Used on the main thread by
+ * {@link LineChartRenderer} and on the worker thread by {@link GeometryPreparer}, every thread needs its own instance.
+ */
+class LineDecimator {
+    private static final int COLUMN_FIRST = 0;
+    private static final int COLUMN_MIN = 1;
+    private static final int COLUMN_MAX = 2;
+    private static final int COLUMN_LAST = 3;
+    /**
+     * Raw coordinates and value indexes of first, min, max and last point of currently decimated pixel column.
+     */
+    private final float[] columnPoints = new float[8];
+    private final int[] columnIndexes = new int[4];
+    private float[] points;
+    private int pointsCount;
+    private int columnsCount;
+    private int column;
+    private boolean hasColumn;
+    /**
+     * Raw transform of currently decimated values.
+     */
+    private float contentLeft;
+    private float viewportLeft;
+    private float scaleX;
+    private float contentBottom;
+    private float viewportBottom;
+    private float scaleY;
+
+    /**
+     * Decimates values from firstIndex to lastIndex projected with given raw transform, the same one that
+     * {@link ir.mahdiparastesh.hellocharts.calculator.ChartCalculator} uses. Raw coordinates (x, y pairs) are stored
+     * in points, which is grown if needed, array that holds result is returned by {@link #getPoints()}.
+     *
+     * @param columnsCount expected number of pixel columns, used to size grown array.
+     * @return number of stored coordinates.
+     */
+    int decimate(Line line, int firstIndex, int lastIndex, float[] points, int columnsCount, float contentLeft,
+                 float viewportLeft, float scaleX, float contentBottom, float viewportBottom, float scaleY) {
+        begin(points, columnsCount, contentLeft, viewportLeft, scaleX, contentBottom, viewportBottom, scaleY);
+        for (int valueIndex = firstIndex; valueIndex <= lastIndex; ++valueIndex) {
+            addValue(line.getValueX(valueIndex), line.getValueY(valueIndex), valueIndex);
+        }
+        return end();
+    }
+
+    /**
+     * Works like {@link #decimate(Line, int, int, float[], int, float, float, float, float, float, float)} for values
+     * copied from a line to given arrays.
+     */
+    int decimate(float[] xValues, float[] yValues, int firstIndex, int lastIndex, float[] points, int columnsCount,
+                 float contentLeft, float viewportLeft, float scaleX, float contentBottom, float viewportBottom,
+                 float scaleY) {
+        begin(points, columnsCount, contentLeft, viewportLeft, scaleX, contentBottom, viewportBottom, scaleY);
+        for (int valueIndex = firstIndex; valueIndex <= lastIndex; ++valueIndex) {
+            addValue(xValues[valueIndex], yValues[valueIndex], valueIndex);
+        }
+        return end();
+    }
+
+    /**
+     * Returns array that holds result of the last {@link #decimate} call, it is the array passed to that call unless
+     * it had to be grown.
+     */
+    float[] getPoints() {
+        return points;
+    }
+
+    private void begin(float[] points, int columnsCount, float contentLeft, float viewportLeft, float scaleX,
+                       float contentBottom, float viewportBottom, float scaleY) {
+        this.points = points;
+        this.columnsCount = columnsCount;
+        this.contentLeft = contentLeft;
+        this.viewportLeft = viewportLeft;
+        this.scaleX = scaleX;
+        this.contentBottom = contentBottom;
+        this.viewportBottom = viewportBottom;
+        this.scaleY = scaleY;
+        pointsCount = 0;
+        hasColumn = false;
+    }
+
+    private void addValue(float valueX, float valueY, int valueIndex) {
+        final float rawX = contentLeft + (valueX - viewportLeft) * scaleX;
+        final float rawY = contentBottom - (valueY - viewportBottom) * scaleY;
+        final int pointColumn = (int) Math.floor(rawX);
+        if (!hasColumn || pointColumn != column) {
+            if (hasColumn) {
+                addColumn();
+            }
+            hasColumn = true;
+            column = pointColumn;
+            setColumnPoint(COLUMN_FIRST, rawX, rawY, valueIndex);
+            setColumnPoint(COLUMN_MIN, rawX, rawY, valueIndex);
+            setColumnPoint(COLUMN_MAX, rawX, rawY, valueIndex);
+        } else if (rawY < columnPoints[COLUMN_MIN * 2 + 1]) {
+            setColumnPoint(COLUMN_MIN, rawX, rawY, valueIndex);
+        } else if (rawY > columnPoints[COLUMN_MAX * 2 + 1]) {
+            setColumnPoint(COLUMN_MAX, rawX, rawY, valueIndex);
+        }
+        setColumnPoint(COLUMN_LAST, rawX, rawY, valueIndex);
+    }
+
+    private int end() {
+        if (hasColumn) {
+            addColumn();
+        }
+        return pointsCount;
+    }
+
+    private void setColumnPoint(int slot, float rawX, float rawY, int valueIndex) {
+        columnPoints[slot * 2] = rawX;
+        columnPoints[slot * 2 + 1] = rawY;
+        columnIndexes[slot] = valueIndex;
+    }
+
+    /**
+     * Adds points of decimated column keeping their original order.
+     */
+    private void addColumn() {
+        addColumnPoint(COLUMN_FIRST);
+        if (columnIndexes[COLUMN_MIN] < columnIndexes[COLUMN_MAX]) {
+            addColumnInnerPoint(COLUMN_MIN);
+            addColumnInnerPoint(COLUMN_MAX);
+        } else {
+            addColumnInnerPoint(COLUMN_MAX);
+            addColumnInnerPoint(COLUMN_MIN);
+        }
+        if (columnIndexes[COLUMN_LAST] != columnIndexes[COLUMN_FIRST]) {
+            addColumnPoint(COLUMN_LAST);
+        }
+    }
+
+    private void addColumnInnerPoint(int slot) {
+        final int valueIndex = columnIndexes[slot];
+        if (valueIndex != columnIndexes[COLUMN_FIRST] && valueIndex != columnIndexes[COLUMN_LAST]) {
+            addColumnPoint(slot);
+        }
+    }
+
+    private void addColumnPoint(int slot) {
+        if (points.length < pointsCount + 2) {
+            // Every pixel column gives at most 4 points, 2 more columns for neighbours outside of content rect.
+            points = Arrays.copyOf(points, Math.max(pointsCount + 2, (columnsCount + 2) * 4 * 2));
+        }
+        points[pointsCount] = columnPoints[slot * 2];
+        points[pointsCount + 1] = columnPoints[slot * 2 + 1];
+        pointsCount += 2;
+    }
+}
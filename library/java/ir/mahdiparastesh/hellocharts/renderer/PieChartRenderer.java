@@ -14,6 +14,8 @@ import android.graphics.Rect;
 import android.graphics.RectF;
 import android.text.TextUtils;
 
+import java.util.List;
+
 import ir.mahdiparastesh.hellocharts.formatter.PieChartValueFormatter;
 import ir.mahdiparastesh.hellocharts.model.PieChartData;
 import ir.mahdiparastesh.hellocharts.model.SelectedValue;
@@ -127,6 +129,8 @@ public class PieChartRenderer extends AbstractChartRenderer {
         centerCircleText2Paint.setTextSize(ChartUtils.sp2px(scaledDensity, data.getCenterText2FontSize()));
         centerCircleText2Paint.setColor(data.getCenterText2Color());
         centerCircleText2Paint.getFontMetricsInt(centerCircleText2FontMetrics);
+        // Values could have been modified in place before data was set again.
+        data.notifyValuesChanged();
 
         onChartViewportChanged();
     }
@@ -192,14 +196,14 @@ public class PieChartRenderer extends AbstractChartRenderer {
         final float touchAngle = (pointToAngle(touchX, touchY, centerX, centerY) - rotation + 360f) % 360f;
         final float sliceScale = 360f / maxSum;
         float lastAngle = 0f; // No start angle here, see above
-        int sliceIndex = 0;
-        for (SliceValue sliceValue : data.getValues()) {
+        final List<SliceValue> values = data.getValues();
+        for (int sliceIndex = 0; sliceIndex < values.size(); ++sliceIndex) {
+            final SliceValue sliceValue = values.get(sliceIndex);
             final float angle = Math.abs(sliceValue.getValue()) * sliceScale;
             if (touchAngle >= lastAngle) {
                 selectedValue.set(sliceIndex, sliceIndex, SelectedValueType.NONE);
             }
             lastAngle += angle;
-            ++sliceIndex;
         }
         return isTouched();
     }
@@ -243,8 +247,9 @@ public class PieChartRenderer extends AbstractChartRenderer {
         final PieChartData data = dataProvider.getPieChartData();
         final float sliceScale = 360f / maxSum;
         float lastAngle = rotation;
-        int sliceIndex = 0;
-        for (SliceValue sliceValue : data.getValues()) {
+        final List<SliceValue> values = data.getValues();
+        for (int sliceIndex = 0; sliceIndex < values.size(); ++sliceIndex) {
+            final SliceValue sliceValue = values.get(sliceIndex);
             final float angle = Math.abs(sliceValue.getValue()) * sliceScale;
             if (isTouched() && selectedValue.getFirstIndex() == sliceIndex) {
                 drawSlice(canvas, sliceValue, lastAngle, angle, MODE_HIGHLIGHT);
@@ -252,7 +257,6 @@ public class PieChartRenderer extends AbstractChartRenderer {
                 drawSlice(canvas, sliceValue, lastAngle, angle, MODE_DRAW);
             }
             lastAngle += angle;
-            ++sliceIndex;
         }
     }
 
@@ -271,8 +275,9 @@ public class PieChartRenderer extends AbstractChartRenderer {
         float lastAngle = rotation;
         final float circleRadius = originCircleOval.width() / 2f;
         separationLinesPaint.setStrokeWidth(sliceSpacing);
-        for (SliceValue sliceValue : data.getValues()) {
-            final float angle = Math.abs(sliceValue.getValue()) * sliceScale;
+        final List<SliceValue> values = data.getValues();
+        for (int i = 0; i < values.size(); ++i) {
+            final float angle = Math.abs(values.get(i).getValue()) * sliceScale;
 
             sliceVector.set((float) (Math.cos(Math.toRadians(lastAngle))),
                     (float) (Math.sin(Math.toRadians(lastAngle))));
@@ -292,8 +297,9 @@ public class PieChartRenderer extends AbstractChartRenderer {
         final PieChartData data = dataProvider.getPieChartData();
         final float sliceScale = 360f / maxSum;
         float lastAngle = rotation;
-        int sliceIndex = 0;
-        for (SliceValue sliceValue : data.getValues()) {
+        final List<SliceValue> values = data.getValues();
+        for (int sliceIndex = 0; sliceIndex < values.size(); ++sliceIndex) {
+            final SliceValue sliceValue = values.get(sliceIndex);
             final float angle = Math.abs(sliceValue.getValue()) * sliceScale;
             if (isTouched()) {
                 if (hasLabels) {
@@ -307,7 +313,6 @@ public class PieChartRenderer extends AbstractChartRenderer {
                 }
             }
             lastAngle += angle;
-            ++sliceIndex;
         }
     }
 
@@ -340,8 +345,7 @@ public class PieChartRenderer extends AbstractChartRenderer {
             return;
         }
 
-        final float labelWidth = labelPaint.measureText(labelBuffer,
-                labelBuffer.length - numChars, numChars);
+        final float labelWidth = measureLabel(labelBuffer, labelBuffer.length - numChars, numChars);
         final int labelHeight = Math.abs(fontMetrics.ascent);
 
         final float centerX = originCircleOval.centerX();
@@ -440,10 +444,7 @@ public class PieChartRenderer extends AbstractChartRenderer {
      */
     private void calculateMaxViewport() {
         tempMaximumViewport.set(0, MAX_WIDTH_HEIGHT, MAX_WIDTH_HEIGHT, 0);
-        maxSum = 0f;
-        for (SliceValue sliceValue : dataProvider.getPieChartData().getValues()) {
-            maxSum += Math.abs(sliceValue.getValue());
-        }
+        maxSum = dataProvider.getPieChartData().getValuesAbsSum();
     }
 
     public RectF getCircleOval() {
@@ -471,8 +472,9 @@ public class PieChartRenderer extends AbstractChartRenderer {
         final float touchAngle = (angle - rotation + 360f) % 360f;
         final float sliceScale = 360f / maxSum;
         float lastAngle = 0f;
-        int sliceIndex = 0;
-        for (SliceValue sliceValue : data.getValues()) {
+        final List<SliceValue> values = data.getValues();
+        for (int sliceIndex = 0; sliceIndex < values.size(); ++sliceIndex) {
+            final SliceValue sliceValue = values.get(sliceIndex);
             final float tempAngle = Math.abs(sliceValue.getValue()) * sliceScale;
             if (touchAngle >= lastAngle) {
                 if (null != selectedValue) {
@@ -481,7 +483,6 @@ public class PieChartRenderer extends AbstractChartRenderer {
                 return sliceValue;
             }
             lastAngle += tempAngle;
-            ++sliceIndex;
         }
         return null;
     }
@@ -0,0 +1,289 @@
+package ir.mahdiparastesh.hellocharts.util;
+
+import java.util.Arrays;
+
+import ir.mahdiparastesh.hellocharts.model.Line;
+import ir.mahdiparastesh.hellocharts.model.PointSeries;
+
+/**
+ * Levels of detail of a single {@link Line} built with Largest-Triangle-Three-Buckets downsampling. Level 0 is the line
+ * itself and every next level has half of the points of the previous one, levels keep indexes of selected values so
+ * all of them together take less memory than values of the line.
+ * <p>
+ * When points are appended to {@link PointSeries} only the end of every level is recalculated. When points are removed
+ * from its beginning buckets of removed points are dropped and buckets at the beginning of every level are
+ * recalculated until they select the same values as before, every bucket depends on value selected by the previous
+ * one, so levels stay equal to levels built from scratch. Buckets are positioned by sequence numbers of points, not by
+ * their indexes, so removing points doesn't move them.
+ */
+public class DownsamplingPyramid {
+    /**
+     * Levels are not built below that size, such lines are cheap enough to draw in full resolution.
+     */
+    private static final int MIN_LEVEL_SIZE = 64;
+    /**
+     * Stored indexes are rebased when they get bigger than this, see {@link #indexShift}.
+     */
+    private static final int MAX_INDEX_SHIFT = 1 << 30;
+    private int[][] levels = new int[0][];
+    private int[] levelStarts = new int[0];
+    private int[] levelSizes = new int[0];
+    /**
+     * Position of the first bucket of every level. Bucket at position p covers positions 2p and 2p + 1 of the previous
+     * level, positions of line values are their sequence numbers relative to {@link #positionBase}.
+     */
+    private long[] levelFirstPositions = new long[0];
+    private int levelsCount;
+    private Line line;
+    private int builtSize;
+    private long builtRewriteStamp;
+    private long builtRemovedCount;
+    private long positionBase;
+    /**
+     * Levels store value indexes increased by this shift, it grows when values are removed from line, so stored
+     * indexes don't have to be changed.
+     */
+    private int indexShift;
+
+    /**
+     * Updates levels to match current values of given line, line has to be sorted by X. If the same line was used
+     * before and values were only appended or removed from its beginning levels are updated, otherwise they are built
+     * from scratch.
+     */
+    public void update(Line line) {
+        final int lineSize = line.getValuesCount();
+        final long rewriteStamp = line.getRewriteStamp();
+        final long removedCount = line.getRemovedCount();
+        final long removed = removedCount - builtRemovedCount;
+        boolean isFrontChanged = removed > 0;
+        long parentChangedFrom;
+        if (this.line == line && builtRewriteStamp == rewriteStamp && removed >= 0 && removed < builtSize
+                && builtSize - removed <= lineSize) {
+            if (!isFrontChanged && builtSize == lineSize) {
+                return;
+            }
+            // Positions of values that were appended.
+            parentChangedFrom = removedCount - positionBase + builtSize - removed;
+            if (removed > MAX_INDEX_SHIFT - indexShift) {
+                rebaseIndexes();
+            }
+            indexShift += (int) removed;
+        } else {
+            this.line = line;
+            levelsCount = 0;
+            positionBase = removedCount;
+            indexShift = 0;
+            isFrontChanged = false;
+            parentChangedFrom = 0;
+        }
+        builtSize = lineSize;
+        builtRewriteStamp = rewriteStamp;
+        builtRemovedCount = removedCount;
+
+        long parentFirst = removedCount - positionBase;
+        long parentEnd = parentFirst + lineSize;
+        long parentFrontChangedTo = parentFirst - 1;
+        int level = 0;
+        while (parentEnd - parentFirst > MIN_LEVEL_SIZE) {
+            if (level == levelsCount) {
+                addLevel();
+            }
+            final long first = Math.floorDiv(parentFirst, 2);
+            final long last = Math.floorDiv(parentEnd - 1, 2);
+            trimLevel(level, first, last);
+            long frontChangedTo = first - 1;
+            long changedFrom = Math.max(first, Math.floorDiv(parentChangedFrom, 2) - 1);
+            if (0 == levelSizes[level]) {
+                // New level.
+                changedFrom = first;
+            } else if (isFrontChanged) {
+                // The first bucket keeps the first value of parent and the second one depends on it.
+                frontChangedTo = Math.min(last, Math.max(first + 1, Math.floorDiv(parentFrontChangedTo, 2) + 1));
+                if (changedFrom <= frontChangedTo + 1) {
+                    changedFrom = first;
+                    frontChangedTo = first - 1;
+                }
+            }
+            levelSizes[level] = (int) (last - first + 1);
+            levelFirstPositions[level] = first;
+            if (frontChangedTo >= first) {
+                frontChangedTo = buildFrontBuckets(level, parentFirst, parentEnd, frontChangedTo, changedFrom);
+            }
+            buildBuckets(level, parentFirst, parentEnd, changedFrom, last);
+
+            isFrontChanged = isFrontChanged || frontChangedTo >= first;
+            parentFrontChangedTo = frontChangedTo;
+            parentChangedFrom = changedFrom;
+            parentFirst = first;
+            parentEnd = last + 1;
+            ++level;
+        }
+        levelsCount = level;
+    }
+
+    /**
+     * Returns number of levels below full resolution, 0 if line is too small to be downsampled.
+     */
+    public int getLevelsCount() {
+        return levelsCount;
+    }
+
+    /**
+     * Returns number of values selected for given level, level 1 has half of the values of the line.
+     */
+    public int getLevelSize(int level) {
+        return levelSizes[level - 1];
+    }
+
+    /**
+     * Returns index of line value selected at given position of given level, positions go from 0 to
+     * {@link #getLevelSize(int)} - 1 and selected indexes grow with them.
+     */
+    public int getValueIndex(int level, int position) {
+        return levels[level - 1][levelStarts[level - 1] + position] - indexShift;
+    }
+
+    /**
+     * Searches position of given value index in given level, result is the same as result of
+     * {@link Arrays#binarySearch(int[], int)} over indexes of that level.
+     */
+    public int findPosition(int level, int valueIndex) {
+        final int[] indexes = levels[level - 1];
+        final int start = levelStarts[level - 1];
+        final int key = valueIndex + indexShift;
+        final int position = Arrays.binarySearch(indexes, start, start + levelSizes[level - 1], key);
+        return position >= 0 ? position - start : position + start;
+    }
+
+    private void addLevel() {
+        if (levelsCount == levels.length) {
+            levels = Arrays.copyOf(levels, levelsCount + 1);
+            levelStarts = Arrays.copyOf(levelStarts, levelsCount + 1);
+            levelSizes = Arrays.copyOf(levelSizes, levelsCount + 1);
+            levelFirstPositions = Arrays.copyOf(levelFirstPositions, levelsCount + 1);
+            levels[levelsCount] = new int[0];
+        }
+        levelStarts[levelsCount] = 0;
+        levelSizes[levelsCount] = 0;
+        ++levelsCount;
+    }
+
+    /**
+     * Drops buckets of given level before the first position and makes room for buckets up to the last one. Buckets
+     * are moved to the beginning of array only when it has no room left, so it costs constant time per bucket.
+     */
+    private void trimLevel(int level, long first, long last) {
+        final int removed = (int) Math.min(levelSizes[level], Math.max(0, first - levelFirstPositions[level]));
+        levelStarts[level] += removed;
+        levelSizes[level] -= removed;
+        if (0 == levelSizes[level]) {
+            levelStarts[level] = 0;
+        }
+        final int size = (int) (last - first + 1);
+        int[] indexes = levels[level];
+        final int start = levelStarts[level];
+        if (start + size > indexes.length) {
+            if (size > indexes.length / 2) {
+                indexes = new int[Math.max(size, indexes.length + (indexes.length >> 1))];
+            }
+            System.arraycopy(levels[level], start, indexes, 0, levelSizes[level]);
+            levels[level] = indexes;
+            levelStarts[level] = 0;
+        }
+    }
+
+    /**
+     * Recalculates buckets of given level from the first one to position to, whose inputs changed at the beginning of
+     * parent. Next buckets depend on them only through value selected in the previous bucket, so they are recalculated
+     * until one of them selects the same value as before or until position end, from where buckets are recalculated
+     * anyway. Returns position of the last recalculated bucket.
+     */
+    private long buildFrontBuckets(int level, long parentFirst, long parentEnd, long to, long end) {
+        buildBuckets(level, parentFirst, parentEnd, levelFirstPositions[level], to);
+        final int[] indexes = levels[level];
+        long bucket = to + 1;
+        while (bucket < end) {
+            final int slot = (int) (levelStarts[level] + bucket - levelFirstPositions[level]);
+            final int selectedIndex = selectIndex(level, parentFirst, parentEnd, bucket);
+            if (indexes[slot] == selectedIndex) {
+                break;
+            }
+            indexes[slot] = selectedIndex;
+            ++bucket;
+        }
+        return bucket - 1;
+    }
+
+    /**
+     * Recalculates buckets of given level from position from to position to.
+     */
+    private void buildBuckets(int level, long parentFirst, long parentEnd, long from, long to) {
+        final int[] indexes = levels[level];
+        for (long bucket = from; bucket <= to; ++bucket) {
+            indexes[(int) (levelStarts[level] + bucket - levelFirstPositions[level])] =
+                    selectIndex(level, parentFirst, parentEnd, bucket);
+        }
+    }
+
+    /**
+     * Returns stored index of value selected by given bucket, buckets before it must be calculated. The first and the
+     * last bucket keep the first and the last value of parent, other buckets cover two values of the parent and keep
+     * the one that forms the largest triangle with value selected in the previous bucket and average of the next one.
+     */
+    private int selectIndex(int level, long parentFirst, long parentEnd, long bucket) {
+        final long first = levelFirstPositions[level];
+        if (bucket == first) {
+            return parentIndex(level, parentFirst);
+        } else if (bucket == first + levelSizes[level] - 1) {
+            return parentIndex(level, parentEnd - 1);
+        }
+        final long start = bucket * 2;
+        final int previousIndex = levels[level][(int) (levelStarts[level] + bucket - first) - 1] - indexShift;
+        final float previousX = line.getValueX(previousIndex);
+        final float previousY = line.getValueY(previousIndex);
+        final long nextEnd = Math.min(start + 4, parentEnd);
+        float nextX = 0;
+        float nextY = 0;
+        for (long position = start + 2; position < nextEnd; ++position) {
+            final int index = parentIndex(level, position) - indexShift;
+            nextX += line.getValueX(index);
+            nextY += line.getValueY(index);
+        }
+        nextX /= nextEnd - start - 2;
+        nextY /= nextEnd - start - 2;
+
+        int selectedIndex = parentIndex(level, start);
+        float maxArea = -1;
+        for (long position = start; position < start + 2; ++position) {
+            final int storedIndex = parentIndex(level, position);
+            final int index = storedIndex - indexShift;
+            final float area = Math.abs((previousX - nextX) * (line.getValueY(index) - previousY)
+                    - (previousX - line.getValueX(index)) * (nextY - previousY));
+            if (area > maxArea) {
+                maxArea = area;
+                selectedIndex = storedIndex;
+            }
+        }
+        return selectedIndex;
+    }
+
+    /**
+     * Returns stored index of value at given position of parent of given level.
+     */
+    private int parentIndex(int level, long position) {
+        if (0 == level) {
+            return (int) (position - (builtRemovedCount - positionBase)) + indexShift;
+        }
+        return levels[level - 1][(int) (levelStarts[level - 1] + position - levelFirstPositions[level - 1])];
+    }
+
+    private void rebaseIndexes() {
+        for (int level = 0; level < levelsCount; ++level) {
+            final int[] indexes = levels[level];
+            for (int i = levelStarts[level]; i < levelStarts[level] + levelSizes[level]; ++i) {
+                indexes[i] -= indexShift;
+            }
+        }
+        indexShift = 0;
+    }
+}
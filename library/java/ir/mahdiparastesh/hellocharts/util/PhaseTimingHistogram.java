@@ -0,0 +1,102 @@
+package ir.mahdiparastesh.hellocharts.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import ir.mahdiparastesh.hellocharts.listener.ChartPerformanceListener;
+
+/**
+ * Rolling histogram of durations of {@link ChartPerformanceListener} phases. Only the last {@link #WINDOW_SIZE}
+ * samples of every phase are counted, durations are grouped in power of two buckets. Recording and reading don't
+ * lock or allocate so the histogram can be read from any thread while chart is drawn.
+ */
+public class PhaseTimingHistogram {
+    public static final int WINDOW_SIZE = 256;
+    public static final int BUCKETS_COUNT = 64;
+    private final AtomicLongArray samples =
+            new AtomicLongArray(ChartPerformanceListener.PHASES_COUNT * WINDOW_SIZE);
+    private final AtomicLongArray buckets =
+            new AtomicLongArray(ChartPerformanceListener.PHASES_COUNT * BUCKETS_COUNT);
+    private final AtomicLong[] positions = new AtomicLong[ChartPerformanceListener.PHASES_COUNT];
+
+    public PhaseTimingHistogram() {
+        for (int i = 0; i < positions.length; ++i) {
+            positions[i] = new AtomicLong();
+        }
+        for (int i = 0; i < samples.length(); ++i) {
+            samples.set(i, -1);
+        }
+    }
+
+    /**
+     * Returns index of bucket that counts given duration, bucket i counts durations smaller than 2^i nanoseconds that
+     * don't fit in bucket i - 1.
+     */
+    public static int getBucket(long durationNanos) {
+        return durationNanos <= 0 ? 0 : Math.min(BUCKETS_COUNT - 1, 64 - Long.numberOfLeadingZeros(durationNanos));
+    }
+
+    /**
+     * Returns exclusive upper bound of durations counted by given bucket in nanoseconds.
+     */
+    public static long getBucketUpperBound(int bucket) {
+        return bucket >= BUCKETS_COUNT - 1 ? Long.MAX_VALUE : 1L << bucket;
+    }
+
+    public void record(int phase, long durationNanos) {
+        final long position = positions[phase].getAndIncrement();
+        final int slot = phase * WINDOW_SIZE + (int) (position % WINDOW_SIZE);
+        final long evicted = samples.getAndSet(slot, Math.max(0, durationNanos));
+        if (evicted >= 0) {
+            buckets.decrementAndGet(phase * BUCKETS_COUNT + getBucket(evicted));
+        }
+        buckets.incrementAndGet(phase * BUCKETS_COUNT + getBucket(durationNanos));
+    }
+
+    /**
+     * Returns number of samples of given phase in the window.
+     */
+    public long getSamplesCount(int phase) {
+        long count = 0;
+        for (int i = 0; i < BUCKETS_COUNT; ++i) {
+            count += buckets.get(phase * BUCKETS_COUNT + i);
+        }
+        return count;
+    }
+
+    public long getBucketCount(int phase, int bucket) {
+        return buckets.get(phase * BUCKETS_COUNT + bucket);
+    }
+
+    /**
+     * Returns upper bound of bucket that contains given percentile (0..100) of samples of given phase in the window,
+     * or 0 if the phase has no samples. Precision is limited by bucket width.
+     */
+    public long getPercentileUpperBound(int phase, float percentile) {
+        final long count = getSamplesCount(phase);
+        if (count == 0) {
+            return 0;
+        }
+        final long rank = Math.max(1, (long) Math.ceil(count * Math.min(100, Math.max(0, percentile)) / 100));
+        long accumulated = 0;
+        for (int i = 0; i < BUCKETS_COUNT; ++i) {
+            accumulated += buckets.get(phase * BUCKETS_COUNT + i);
+            if (accumulated >= rank) {
+                return getBucketUpperBound(i);
+            }
+        }
+        return getBucketUpperBound(BUCKETS_COUNT - 1);
+    }
+
+    /**
+     * Removes all samples, samples recorded concurrently with clearing may be lost.
+     */
+    public void clear() {
+        for (int i = 0; i < samples.length(); ++i) {
+            final long evicted = samples.getAndSet(i, -1);
+            if (evicted >= 0) {
+                buckets.decrementAndGet((i / WINDOW_SIZE) * BUCKETS_COUNT + getBucket(evicted));
+            }
+        }
+    }
+}
@@ -2,6 +2,7 @@ package ir.mahdiparastesh.hellocharts.view;
 
 import android.content.Context;
 import android.graphics.Canvas;
+import android.os.Trace;
 import android.util.AttributeSet;
 import android.view.MotionEvent;
 import android.view.View;
@@ -15,14 +16,20 @@ import ir.mahdiparastesh.hellocharts.calculator.ChartCalculator;
 import ir.mahdiparastesh.hellocharts.gesture.ChartTouchHandler;
 import ir.mahdiparastesh.hellocharts.gesture.ContainerScrollType;
 import ir.mahdiparastesh.hellocharts.gesture.ZoomType;
+import ir.mahdiparastesh.hellocharts.listener.ChartPerformanceListener;
+import ir.mahdiparastesh.hellocharts.listener.DummyChartPerformanceListener;
 import ir.mahdiparastesh.hellocharts.listener.ViewportChangeListener;
 import ir.mahdiparastesh.hellocharts.model.SelectedValue;
 import ir.mahdiparastesh.hellocharts.model.Viewport;
 import ir.mahdiparastesh.hellocharts.renderer.AxesRenderer;
 import ir.mahdiparastesh.hellocharts.renderer.ChartRenderer;
 import ir.mahdiparastesh.hellocharts.util.ChartUtils;
+import ir.mahdiparastesh.hellocharts.util.PhaseTimingHistogram;
 
 public abstract class AbstractChartView extends View implements Chart {
+    private static final String[] PHASE_SECTION_NAMES = {"HelloCharts:axesBackground", "HelloCharts:draw",
+            "HelloCharts:drawUnClipped", "HelloCharts:axesForeground", "HelloCharts:touch", "HelloCharts:dataChange"};
+    private static final long PHASE_NOT_MEASURED = Long.MIN_VALUE;
     protected ChartCalculator chartCalculator;
     protected AxesRenderer axesRenderer;
     protected ChartTouchHandler touchHandler;
@@ -32,6 +39,19 @@ public abstract class AbstractChartView extends View implements Chart {
     protected boolean isInteractive = true;
     protected boolean isContainerScrollEnabled = false;
     protected ContainerScrollType containerScrollType;
+    /**
+     * Reused by moveTo and setZoomLevel methods, viewport passed to calculator or animator is always copied.
+     */
+    private final Viewport tempTargetViewport = new Viewport();
+    protected ChartPerformanceListener performanceListener = new DummyChartPerformanceListener();
+    private PhaseTimingHistogram phaseTimings;
+    private boolean isPerformanceMonitoringEnabled = false;
+    private boolean isPerformanceTracingEnabled = false;
+    /**
+     * Bit per phase, set when trace section of that phase was begun, so sections stay balanced even if tracing is
+     * toggled while phase runs.
+     */
+    private int tracedPhases;
 
     public AbstractChartView(Context context) {
         this(context, null, 0);
@@ -65,18 +85,35 @@ public abstract class AbstractChartView extends View implements Chart {
         axesRenderer.onChartSizeChanged();
     }
 
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        chartRenderer.onChartDetachedFromWindow();
+    }
+
     @Override
     protected void onDraw(Canvas canvas) {
         super.onDraw(canvas);
 
         if (isEnabled()) {
+            long startNanos = beginPhase(ChartPerformanceListener.PHASE_AXES_BACKGROUND);
             axesRenderer.drawInBackground(canvas);
+            endPhase(ChartPerformanceListener.PHASE_AXES_BACKGROUND, startNanos);
+
+            startNanos = beginPhase(ChartPerformanceListener.PHASE_DRAW);
             int clipRestoreCount = canvas.save();
             canvas.clipRect(chartCalculator.getContentRectMinusAllMargins());
             chartRenderer.draw(canvas);
             canvas.restoreToCount(clipRestoreCount);
+            endPhase(ChartPerformanceListener.PHASE_DRAW, startNanos);
+
+            startNanos = beginPhase(ChartPerformanceListener.PHASE_DRAW_UNCLIPPED);
             chartRenderer.drawUnClipped(canvas);
+            endPhase(ChartPerformanceListener.PHASE_DRAW_UNCLIPPED, startNanos);
+
+            startNanos = beginPhase(ChartPerformanceListener.PHASE_AXES_FOREGROUND);
             axesRenderer.drawInForeground(canvas);
+            endPhase(ChartPerformanceListener.PHASE_AXES_FOREGROUND, startNanos);
         } else canvas.drawColor(ChartUtils.DEFAULT_COLOR);
     }
 
@@ -84,9 +121,12 @@ public abstract class AbstractChartView extends View implements Chart {
     public boolean onTouchEvent(MotionEvent event) {
         super.onTouchEvent(event);
         if (isInteractive) {
-            if (isContainerScrollEnabled
+            final long startNanos = beginPhase(ChartPerformanceListener.PHASE_TOUCH);
+            final boolean needInvalidate = isContainerScrollEnabled
                     ? touchHandler.handleTouchEvent(event, getParent(), containerScrollType) :
-                    touchHandler.handleTouchEvent(event))
+                    touchHandler.handleTouchEvent(event);
+            endPhase(ChartPerformanceListener.PHASE_TOUCH, startNanos);
+            if (needInvalidate)
                 ViewCompat.postInvalidateOnAnimation(this);
             return true;
         } else return false;
@@ -216,7 +256,8 @@ public abstract class AbstractChartView extends View implements Chart {
     private Viewport computeScrollViewport(float x, float y) {
         Viewport maxViewport = getMaximumViewport();
         Viewport currentViewport = getCurrentViewport();
-        Viewport scrollViewport = new Viewport(currentViewport);
+        Viewport scrollViewport = tempTargetViewport;
+        scrollViewport.set(currentViewport);
 
         if (maxViewport.contains(x, y)) {
             final float width = currentViewport.width();
@@ -292,7 +333,8 @@ public abstract class AbstractChartView extends View implements Chart {
 
     private Viewport computeZoomViewport(float x, float y, float zoomLevel) {
         final Viewport maxViewport = getMaximumViewport();
-        Viewport zoomViewport = new Viewport(getMaximumViewport());
+        Viewport zoomViewport = tempTargetViewport;
+        zoomViewport.set(maxViewport);
 
         if (maxViewport.contains(x, y)) {
 
@@ -436,12 +478,77 @@ public abstract class AbstractChartView extends View implements Chart {
     }
 
     protected void onChartDataChange() {
+        final long startNanos = beginPhase(ChartPerformanceListener.PHASE_DATA_CHANGE);
         chartCalculator.resetContentRect();
         chartRenderer.onChartDataChanged();
         axesRenderer.onChartDataChanged();
+        endPhase(ChartPerformanceListener.PHASE_DATA_CHANGE, startNanos);
         ViewCompat.postInvalidateOnAnimation(this);
     }
 
+    public boolean isPerformanceMonitoringEnabled() {
+        return isPerformanceMonitoringEnabled;
+    }
+
+    /**
+     * Enables measuring durations of drawing phases, touch handling and data changes. Durations are passed to
+     * {@link ChartPerformanceListener} and recorded in {@link #getPhaseTimings()}. Disabled by default.
+     */
+    public void setPerformanceMonitoringEnabled(boolean isPerformanceMonitoringEnabled) {
+        this.isPerformanceMonitoringEnabled = isPerformanceMonitoringEnabled;
+        if (isPerformanceMonitoringEnabled && null == phaseTimings)
+            phaseTimings = new PhaseTimingHistogram();
+    }
+
+    /**
+     * Returns rolling histogram of measured phases, or null if performance monitoring was never enabled.
+     */
+    public PhaseTimingHistogram getPhaseTimings() {
+        return phaseTimings;
+    }
+
+    public ChartPerformanceListener getPerformanceListener() {
+        return performanceListener;
+    }
+
+    public void setPerformanceListener(ChartPerformanceListener performanceListener) {
+        if (null == performanceListener)
+            this.performanceListener = new DummyChartPerformanceListener();
+        else this.performanceListener = performanceListener;
+    }
+
+    public boolean isPerformanceTracingEnabled() {
+        return isPerformanceTracingEnabled;
+    }
+
+    /**
+     * Wraps the same phases as performance monitoring in {@link Trace} sections so they are visible in system
+     * traces. Works independently of {@link #setPerformanceMonitoringEnabled(boolean)}. Disabled by default.
+     */
+    public void setPerformanceTracingEnabled(boolean isPerformanceTracingEnabled) {
+        this.isPerformanceTracingEnabled = isPerformanceTracingEnabled;
+    }
+
+    private long beginPhase(int phase) {
+        if (isPerformanceTracingEnabled) {
+            Trace.beginSection(PHASE_SECTION_NAMES[phase]);
+            tracedPhases |= 1 << phase;
+        }
+        return isPerformanceMonitoringEnabled ? System.nanoTime() : PHASE_NOT_MEASURED;
+    }
+
+    private void endPhase(int phase, long startNanos) {
+        final long durationNanos = PHASE_NOT_MEASURED == startNanos ? 0 : System.nanoTime() - startNanos;
+        if ((tracedPhases & 1 << phase) != 0) {
+            Trace.endSection();
+            tracedPhases &= ~(1 << phase);
+        }
+        if (PHASE_NOT_MEASURED != startNanos && isPerformanceMonitoringEnabled) {
+            phaseTimings.record(phase, durationNanos);
+            performanceListener.onPhaseMeasured(phase, durationNanos);
+        }
+    }
+
     protected void resetRendererAndTouchHandler() {
         this.chartRenderer.resetRenderer();
         this.axesRenderer.resetRenderer();
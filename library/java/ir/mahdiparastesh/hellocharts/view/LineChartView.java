@@ -3,18 +3,24 @@ package ir.mahdiparastesh.hellocharts.view;
 import android.content.Context;
 import android.util.AttributeSet;
 
+import androidx.core.view.ViewCompat;
+
 import ir.mahdiparastesh.hellocharts.listener.DummyLineChartOnValueSelectListener;
 import ir.mahdiparastesh.hellocharts.listener.LineChartOnValueSelectListener;
 import ir.mahdiparastesh.hellocharts.model.ChartData;
 import ir.mahdiparastesh.hellocharts.model.LineChartData;
+import ir.mahdiparastesh.hellocharts.model.PointSeries;
 import ir.mahdiparastesh.hellocharts.model.PointValue;
 import ir.mahdiparastesh.hellocharts.model.SelectedValue;
+import ir.mahdiparastesh.hellocharts.model.Viewport;
 import ir.mahdiparastesh.hellocharts.provider.LineChartDataProvider;
 import ir.mahdiparastesh.hellocharts.renderer.LineChartRenderer;
 
 public class LineChartView extends AbstractChartView implements LineChartDataProvider {
     protected LineChartData data;
     protected LineChartOnValueSelectListener onValueTouchListener = new DummyLineChartOnValueSelectListener();
+    protected boolean isFollowingNewestValues = false;
+    private final Viewport tempViewport = new Viewport();
 
     public LineChartView(Context context) {
         this(context, null, 0);
@@ -44,6 +50,58 @@ public class LineChartView extends AbstractChartView implements LineChartDataPro
         super.onChartDataChange();
     }
 
+    /**
+     * Call it after values were appended to {@link PointSeries} of lines of this chart or removed from their
+     * beginning. It is much cheaper than {@link #setLineChartData(LineChartData)}: maximum viewport is updated using
+     * bounds cached by lines and current zoom is kept. If {@link #setFollowingNewestValues(boolean)} is enabled
+     * current viewport is moved to show the newest values.
+     */
+    public void notifyValuesAppended() {
+        if (!(chartRenderer instanceof LineChartRenderer)) {
+            return;
+        }
+        final Viewport currentViewport = getCurrentViewport();
+        final Viewport maxViewport = getMaximumViewport();
+        // If chart wasn't zoomed in some direction it should show all values in that direction.
+        final boolean hasFullWidth = currentViewport.left <= maxViewport.left
+                && currentViewport.right >= maxViewport.right;
+        final boolean hasFullHeight = currentViewport.top >= maxViewport.top
+                && currentViewport.bottom <= maxViewport.bottom;
+        tempViewport.set(currentViewport);
+
+        ((LineChartRenderer) chartRenderer).onChartValuesAppended();
+
+        if (hasFullWidth) {
+            tempViewport.left = maxViewport.left;
+            tempViewport.right = maxViewport.right;
+        } else if (isFollowingNewestValues) {
+            final float width = tempViewport.width();
+            tempViewport.left = maxViewport.right - width;
+            tempViewport.right = maxViewport.right;
+        }
+        if (hasFullHeight) {
+            tempViewport.top = maxViewport.top;
+            tempViewport.bottom = maxViewport.bottom;
+        }
+        chartRenderer.setCurrentViewport(tempViewport);
+        ViewCompat.postInvalidateOnAnimation(this);
+    }
+
+    /**
+     * @see #setFollowingNewestValues(boolean)
+     */
+    public boolean isFollowingNewestValues() {
+        return isFollowingNewestValues;
+    }
+
+    /**
+     * Set true to move current viewport to the newest values every time {@link #notifyValuesAppended()} is called,
+     * current zoom is kept. Useful for charts of live data stored in {@link PointSeries} with maximal size.
+     */
+    public void setFollowingNewestValues(boolean isFollowingNewestValues) {
+        this.isFollowingNewestValues = isFollowingNewestValues;
+    }
+
     @Override
     public ChartData getChartData() {
         return data;
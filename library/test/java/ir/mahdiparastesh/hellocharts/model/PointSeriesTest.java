@@ -0,0 +1,120 @@
+package ir.mahdiparastesh.hellocharts.model;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * Checks that points, labels, animation targets and tracked bounds of {@link PointSeries} survive removing points from
+ * its beginning and moving remaining points back to the beginning of arrays.
+ */
+public class PointSeriesTest {
+
+    @Test
+    public void streamingWindow() {
+        final Random random = new Random(1);
+        final int maxSize = 100;
+        final PointSeries series = new PointSeries(8).setMaxSize(maxSize);
+        final float[] ys = new float[5000];
+        for (int sequence = 0; sequence < ys.length; ++sequence) {
+            ys[sequence] = random.nextFloat() * 100 - 50;
+            series.add(sequence, ys[sequence]);
+            if (0 == sequence % 7) {
+                series.setLabel(series.size() - 1, "p" + sequence);
+            }
+            final int size = Math.min(sequence + 1, maxSize);
+            assertEquals(size, series.size());
+            assertEquals(sequence + 1 - size, series.getRemovedCount());
+            assertWindow(series, ys);
+        }
+    }
+
+    @Test
+    public void removedPointsAndGrowingSeries() {
+        final Random random = new Random(2);
+        final PointSeries series = new PointSeries(4);
+        final float[] ys = new float[3000];
+        int end = 0;
+        while (end < ys.length) {
+            final int added = Math.min(ys.length - end, random.nextInt(40));
+            for (int i = 0; i < added; ++i) {
+                ys[end] = random.nextFloat();
+                series.add(end, ys[end]);
+                ++end;
+            }
+            series.removeFirst(random.nextInt(series.size() + 1));
+            if (random.nextBoolean()) {
+                series.ensureCapacity(series.size() + random.nextInt(50));
+            }
+            assertWindow(series, ys);
+        }
+    }
+
+    @Test
+    public void targetsAfterCompaction() {
+        final PointSeries series = new PointSeries(16);
+        for (int i = 0; i < 16; ++i) {
+            series.add(i, i);
+        }
+        series.setTarget(15, 15, 100);
+        series.removeFirst(10);
+        // No room after the last point, so remaining points are moved to the beginning of arrays.
+        series.add(16, 16);
+        series.update(0.5f);
+        assertEquals(57.5f, series.getY(5), 0);
+        series.finish();
+        assertEquals(100, series.getY(5), 0);
+        assertEquals(16, series.getY(6), 0);
+    }
+
+    @Test
+    public void copyOfSeriesWithRemovedPoints() {
+        final PointSeries series = new PointSeries();
+        for (int i = 0; i < 50; ++i) {
+            series.add(i, -i);
+        }
+        series.setLabel(45, "last");
+        series.removeFirst(40);
+        final PointSeries copy = new PointSeries(series);
+        assertEquals(10, copy.size());
+        for (int i = 0; i < 10; ++i) {
+            assertEquals(40 + i, copy.getX(i), 0);
+            assertEquals(-40 - i, copy.getY(i), 0);
+        }
+        assertArrayEquals("last".toCharArray(), copy.getLabel(5));
+        assertNull(copy.getLabel(4));
+    }
+
+    /**
+     * Series holds points whose X is their sequence number and Y is taken from ys.
+     */
+    private static void assertWindow(PointSeries series, float[] ys) {
+        final long first = series.getRemovedCount();
+        final Viewport expectedBounds = new Viewport();
+        Line.setEmptyBounds(expectedBounds);
+        for (int i = 0; i < series.size(); ++i) {
+            final int sequence = (int) (first + i);
+            assertEquals(sequence, series.getX(i), 0);
+            assertEquals(ys[sequence], series.getY(i), 0);
+            if (series.getMaxSize() > 0) {
+                final char[] label = series.getLabel(i);
+                if (0 == sequence % 7) {
+                    assertArrayEquals(("p" + sequence).toCharArray(), label);
+                } else {
+                    assertNull(label);
+                }
+            }
+            Line.includeInBounds(expectedBounds, sequence, ys[sequence]);
+        }
+        if (series.size() > 0) {
+            final Viewport bounds = new Viewport();
+            Line.setEmptyBounds(bounds);
+            series.calculateBounds(bounds);
+            assertEquals(expectedBounds, bounds);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package ir.mahdiparastesh.hellocharts.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * Compares {@link SlidingExtremum} with minimum and maximum of a window calculated by scanning it.
+ */
+public class SlidingExtremumTest {
+
+    @Test
+    public void slidingWindow() {
+        final Random random = new Random(1);
+        for (int trial = 0; trial < 100; ++trial) {
+            final SlidingExtremum minimum = new SlidingExtremum(false);
+            final SlidingExtremum maximum = new SlidingExtremum(true);
+            final float[] values = new float[2000];
+            int first = 0;
+            int end = 0;
+            while (end < values.length) {
+                // Small range of values makes equal values common.
+                final int added = Math.min(values.length - end, random.nextInt(50));
+                for (int i = 0; i < added; ++i) {
+                    values[end] = random.nextInt(20);
+                    minimum.add(end, values[end]);
+                    maximum.add(end, values[end]);
+                    ++end;
+                }
+                final int removed = random.nextInt(end - first + 1);
+                for (int i = 0; i < removed; ++i) {
+                    minimum.remove(first);
+                    maximum.remove(first);
+                    ++first;
+                }
+                if (first == end) {
+                    assertTrue(minimum.isEmpty());
+                    assertTrue(maximum.isEmpty());
+                    continue;
+                }
+                float expectedMinimum = Float.MAX_VALUE;
+                float expectedMaximum = -Float.MAX_VALUE;
+                for (int i = first; i < end; ++i) {
+                    expectedMinimum = Math.min(expectedMinimum, values[i]);
+                    expectedMaximum = Math.max(expectedMaximum, values[i]);
+                }
+                assertEquals("trial " + trial + ", window " + first + ".." + end, expectedMinimum, minimum.get(), 0);
+                assertEquals("trial " + trial + ", window " + first + ".." + end, expectedMaximum, maximum.get(), 0);
+            }
+        }
+    }
+
+    @Test
+    public void growingWindowWrappedAroundArrays() {
+        final SlidingExtremum minimum = new SlidingExtremum(false);
+        for (int i = 0; i < 10; ++i) {
+            minimum.add(i, i);
+        }
+        for (int i = 0; i < 8; ++i) {
+            minimum.remove(i);
+        }
+        // Ascending values are all kept, so arrays have to grow while window wraps around their end.
+        for (int i = 10; i < 100; ++i) {
+            minimum.add(i, i);
+        }
+        for (int i = 8; i < 99; ++i) {
+            assertEquals(i, minimum.get(), 0);
+            minimum.remove(i);
+        }
+        assertEquals(99, minimum.get(), 0);
+    }
+
+    @Test
+    public void clear() {
+        final SlidingExtremum maximum = new SlidingExtremum(true);
+        maximum.add(0, 5);
+        maximum.add(1, 3);
+        maximum.clear();
+        assertTrue(maximum.isEmpty());
+        maximum.add(2, 1);
+        assertEquals(1, maximum.get(), 0);
+    }
+}
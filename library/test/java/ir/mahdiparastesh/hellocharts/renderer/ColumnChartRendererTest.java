@@ -0,0 +1,68 @@
+package ir.mahdiparastesh.hellocharts.renderer;
+
+import static org.junit.Assert.assertNotEquals;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Rect;
+import android.view.View;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.GraphicsMode;
+
+import ir.mahdiparastesh.hellocharts.model.ColumnChartData;
+import ir.mahdiparastesh.hellocharts.model.ColumnMatrix;
+import ir.mahdiparastesh.hellocharts.model.Viewport;
+import ir.mahdiparastesh.hellocharts.view.ColumnChartView;
+
+/**
+ * Checks that columns clamped to the minimal width are drawn while they reach into content rect, even if their X is
+ * more than one column away from visible viewport.
+ */
+@RunWith(RobolectricTestRunner.class)
+@GraphicsMode(GraphicsMode.Mode.NATIVE)
+@Config(sdk = 34)
+public class ColumnChartRendererTest {
+    private static final int WIDTH = 720;
+    private static final int HEIGHT = 480;
+    private static final int COLUMNS_COUNT = 20_000;
+    private static final float VISIBLE_LEFT = 5_000;
+    private static final float VISIBLE_RIGHT = 15_000;
+    /**
+     * Columns are 14 values per pixel apart, so the only drawn ones are those 5 values beyond visible viewport.
+     */
+    private static final int LEFT_COLUMN = 4_995;
+    private static final int RIGHT_COLUMN = 15_005;
+
+    @Test
+    public void minimalWidthColumnsAtEdgesOfViewport() {
+        final ColumnMatrix matrix = new ColumnMatrix(COLUMNS_COUNT, 1)
+                .setValue(LEFT_COLUMN, 0, 50)
+                .setValue(RIGHT_COLUMN, 0, 50)
+                .setSeriesColor(0, Color.RED);
+        final ColumnChartView chart = new ColumnChartView(RuntimeEnvironment.getApplication());
+        chart.setColumnChartData(new ColumnChartData().setMatrix(matrix));
+        chart.setMaxZoom(4);
+        chart.measure(View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.EXACTLY));
+        chart.layout(0, 0, WIDTH, HEIGHT);
+        final Viewport viewport = new Viewport(chart.getMaximumViewport());
+        viewport.left = VISIBLE_LEFT;
+        viewport.right = VISIBLE_RIGHT;
+        chart.setCurrentViewport(viewport);
+
+        final Bitmap bitmap = Bitmap.createBitmap(WIDTH, HEIGHT, Bitmap.Config.ARGB_8888);
+        bitmap.eraseColor(Color.WHITE);
+        chart.draw(new Canvas(bitmap));
+
+        final Rect contentRect = chart.getChartCalculator().getContentRectMinusAllMargins();
+        final int y = contentRect.bottom - 1 - contentRect.height() / 4;
+        assertNotEquals(Color.WHITE, bitmap.getPixel(contentRect.left, y));
+        assertNotEquals(Color.WHITE, bitmap.getPixel(contentRect.right - 1, y));
+    }
+}
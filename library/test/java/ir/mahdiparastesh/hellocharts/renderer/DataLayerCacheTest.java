@@ -0,0 +1,79 @@
+package ir.mahdiparastesh.hellocharts.renderer;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import ir.mahdiparastesh.hellocharts.calculator.ChartCalculator;
+
+/**
+ * Checks on which canvases {@link DataLayerCache} records picture of a frame drawn twice in a row.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class DataLayerCacheTest {
+    private static final long STAMP = 1;
+    private final ChartCalculator calculator = new ChartCalculator();
+    private final DataLayerCache cache = new DataLayerCache();
+
+    public DataLayerCacheTest() {
+        calculator.setContentRect(100, 100, 0, 0, 0, 0);
+        calculator.setMaxViewport(0, 10, 10, 0);
+        calculator.setCurrentViewport(0, 10, 10, 0);
+    }
+
+    @Test
+    @Config(sdk = 22)
+    public void softwareCanvasRecordsPicture() {
+        assertRecordsPicture(new TestCanvas(false));
+    }
+
+    @Test
+    @Config(sdk = {23, 28})
+    public void hardwareCanvasRecordsPictureSinceMarshmallow() {
+        assertRecordsPicture(new TestCanvas(true));
+    }
+
+    @Test
+    @Config(sdk = 22)
+    public void hardwareCanvasBeforeMarshmallowDrawsValues() {
+        final Canvas canvas = new TestCanvas(true);
+        for (int i = 0; i < 3; ++i) {
+            assertSame(canvas, cache.beginDraw(canvas, calculator, STAMP));
+            cache.endDraw(canvas);
+        }
+    }
+
+    /**
+     * The first frame is drawn directly, the second one is recorded and the third one is replayed.
+     */
+    private void assertRecordsPicture(Canvas canvas) {
+        assertSame(canvas, cache.beginDraw(canvas, calculator, STAMP));
+        cache.endDraw(canvas);
+        final Canvas recordingCanvas = cache.beginDraw(canvas, calculator, STAMP);
+        assertNotSame(canvas, recordingCanvas);
+        cache.endDraw(canvas);
+        assertNull(cache.beginDraw(canvas, calculator, STAMP));
+    }
+
+    private static class TestCanvas extends Canvas {
+        private final boolean isHardwareAccelerated;
+
+        private TestCanvas(boolean isHardwareAccelerated) {
+            super(Bitmap.createBitmap(100, 100, Bitmap.Config.ARGB_8888));
+            this.isHardwareAccelerated = isHardwareAccelerated;
+        }
+
+        @Override
+        public boolean isHardwareAccelerated() {
+            return isHardwareAccelerated;
+        }
+    }
+}
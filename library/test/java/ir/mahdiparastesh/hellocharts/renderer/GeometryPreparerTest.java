@@ -0,0 +1,105 @@
+package ir.mahdiparastesh.hellocharts.renderer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import android.graphics.Rect;
+import android.os.Looper;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import ir.mahdiparastesh.hellocharts.model.Line;
+import ir.mahdiparastesh.hellocharts.model.PointSeries;
+import ir.mahdiparastesh.hellocharts.model.Viewport;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class GeometryPreparerTest {
+    private static final int VALUES_COUNT = 100_000;
+    private static final long TIMEOUT_MILLIS = 10_000;
+    private final Rect contentRect = new Rect(0, 0, 720, 480);
+    private final CountingLine line = new CountingLine();
+    private final Line[] lines = {line};
+    private final GeometryPreparer preparer = new GeometryPreparer(() -> {
+    });
+
+    public GeometryPreparerTest() {
+        final PointSeries series = new PointSeries(VALUES_COUNT);
+        for (int i = 0; i < VALUES_COUNT; ++i) {
+            series.add(i, (float) Math.sin(i / 100.0));
+        }
+        line.setSeries(series);
+    }
+
+    @After
+    public void tearDown() {
+        preparer.release();
+    }
+
+    @Test
+    public void scrollWithinCopiedRangeDoesNotCopyValues() {
+        final Viewport viewport = new Viewport(40_000, 1, 50_000, -1);
+        preparer.request(lines, 1, viewport, contentRect);
+        line.mainThreadReadsCount = 0;
+        // Values are copied for three widths on both sides, they are needed for one, so scroll by two widths is free.
+        for (int step = 0; step < 200; ++step) {
+            viewport.offset(100, 0);
+            preparer.request(lines, 1, viewport, contentRect);
+        }
+        assertEquals(0, line.mainThreadReadsCount);
+        viewport.offset(100, 0);
+        preparer.request(lines, 1, viewport, contentRect);
+        assertTrue(line.mainThreadReadsCount > 0);
+        assertPrepared(viewport);
+    }
+
+    @Test
+    public void releasedPreparerPreparesAgain() {
+        final Viewport viewport = new Viewport(0, 1, 10_000, -1);
+        preparer.request(lines, 1, viewport, contentRect);
+        preparer.release();
+        preparer.request(lines, 1, viewport, contentRect);
+        assertPrepared(viewport);
+        preparer.release();
+        viewport.offset(5_000, 0);
+        preparer.request(lines, 1, viewport, contentRect);
+        assertPrepared(viewport);
+    }
+
+    /**
+     * Waits for the worker and checks that prepared frame is drawn for given viewport without scaling.
+     */
+    private void assertPrepared(Viewport viewport) {
+        final long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        float[] points = null;
+        while (null == points && System.currentTimeMillis() < deadline) {
+            preparer.swapFrames();
+            points = preparer.getFrontFrame().mapPoints(0, line, viewport, contentRect, new float[0]);
+            Thread.yield();
+        }
+        assertNotNull(points);
+        final int count = preparer.getFrontFrame().getCount(0);
+        assertTrue(count > 0);
+        for (int i = 0; i < count; i += 2) {
+            assertTrue(points[i] >= contentRect.left - contentRect.width() - 1);
+            assertTrue(points[i] <= contentRect.right + contentRect.width() + 1);
+        }
+    }
+
+    private static class CountingLine extends Line {
+        private int mainThreadReadsCount;
+
+        @Override
+        public float getValueX(int index) {
+            if (Looper.getMainLooper().isCurrentThread()) {
+                ++mainThreadReadsCount;
+            }
+            return super.getValueX(index);
+        }
+    }
+}
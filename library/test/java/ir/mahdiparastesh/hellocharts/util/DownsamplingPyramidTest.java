@@ -0,0 +1,151 @@
+package ir.mahdiparastesh.hellocharts.util;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import ir.mahdiparastesh.hellocharts.model.Line;
+import ir.mahdiparastesh.hellocharts.model.PointSeries;
+
+/**
+ * Compares levels updated by {@link DownsamplingPyramid} with levels built from scratch by a plain
+ * Largest-Triangle-Three-Buckets implementation over the same buckets.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class DownsamplingPyramidTest {
+    private static final int MIN_LEVEL_SIZE = 64;
+    private static final int TRIALS = 300;
+
+    @Test
+    public void appendedPoints() {
+        final Random random = new Random(1);
+        for (int trial = 0; trial < TRIALS; ++trial) {
+            final PointSeries series = new PointSeries();
+            final Line line = new Line(series);
+            final DownsamplingPyramid pyramid = new DownsamplingPyramid();
+            for (int step = 0; step < 10; ++step) {
+                append(random, series, 1 + random.nextInt(200));
+                pyramid.update(line);
+                assertLevels(pyramid, line, trial, step);
+            }
+        }
+    }
+
+    @Test
+    public void evictedPoints() {
+        final Random random = new Random(2);
+        for (int trial = 0; trial < TRIALS; ++trial) {
+            final int maxSize = 70 + random.nextInt(500);
+            final PointSeries series = new PointSeries().setMaxSize(maxSize);
+            final Line line = new Line(series);
+            final DownsamplingPyramid pyramid = new DownsamplingPyramid();
+            append(random, series, maxSize);
+            pyramid.update(line);
+            for (int step = 0; step < 20; ++step) {
+                append(random, series, 1 + random.nextInt(maxSize - 1));
+                pyramid.update(line);
+                assertLevels(pyramid, line, trial, step);
+            }
+        }
+    }
+
+    @Test
+    public void removedPointsWithoutAppending() {
+        final Random random = new Random(3);
+        for (int trial = 0; trial < TRIALS; ++trial) {
+            final PointSeries series = new PointSeries();
+            final Line line = new Line(series);
+            final DownsamplingPyramid pyramid = new DownsamplingPyramid();
+            append(random, series, 1000 + random.nextInt(1000));
+            pyramid.update(line);
+            while (series.size() > 2 * MIN_LEVEL_SIZE) {
+                series.removeFirst(1 + random.nextInt(series.size() / 4));
+                pyramid.update(line);
+                assertLevels(pyramid, line, trial, (int) series.getRemovedCount());
+            }
+        }
+    }
+
+    private static void append(Random random, PointSeries series, int count) {
+        float x = 0 == series.size() ? 0 : series.getX(series.size() - 1);
+        float y = 0 == series.size() ? 0 : series.getY(series.size() - 1);
+        for (int i = 0; i < count; ++i) {
+            x += 1;
+            y += random.nextFloat() - 0.5f;
+            series.add(x, y);
+        }
+    }
+
+    /**
+     * Pyramids in these tests never drop all built points, so buckets are positioned relative to the first point
+     * ever added.
+     */
+    private static void assertLevels(DownsamplingPyramid pyramid, Line line, int trial, int step) {
+        final List<int[]> expectedLevels = buildLevels(line, line.getRemovedCount());
+        final String message = "trial " + trial + ", step " + step + ", size " + line.getValuesCount();
+        assertEquals(message, expectedLevels.size(), pyramid.getLevelsCount());
+        for (int level = 1; level <= expectedLevels.size(); ++level) {
+            final int[] expected = expectedLevels.get(level - 1);
+            assertEquals(message + ", level " + level, expected.length, pyramid.getLevelSize(level));
+            for (int position = 0; position < expected.length; ++position) {
+                assertEquals(message + ", level " + level + ", position " + position, expected[position],
+                        pyramid.getValueIndex(level, position));
+            }
+        }
+    }
+
+    private static List<int[]> buildLevels(Line line, long firstPosition) {
+        final List<int[]> levels = new ArrayList<>();
+        int[] parent = new int[line.getValuesCount()];
+        for (int i = 0; i < parent.length; ++i) {
+            parent[i] = i;
+        }
+        long parentFirst = firstPosition;
+        while (parent.length > MIN_LEVEL_SIZE) {
+            final long first = Math.floorDiv(parentFirst, 2);
+            final long last = Math.floorDiv(parentFirst + parent.length - 1, 2);
+            final int[] indexes = new int[(int) (last - first + 1)];
+            indexes[0] = parent[0];
+            indexes[indexes.length - 1] = parent[parent.length - 1];
+            for (long bucket = first + 1; bucket < last; ++bucket) {
+                final int previousIndex = indexes[(int) (bucket - first - 1)];
+                final float previousX = line.getValueX(previousIndex);
+                final float previousY = line.getValueY(previousIndex);
+                final int start = (int) (bucket * 2 - parentFirst);
+                final int nextEnd = Math.min(start + 4, parent.length);
+                float nextX = 0;
+                float nextY = 0;
+                for (int i = start + 2; i < nextEnd; ++i) {
+                    nextX += line.getValueX(parent[i]);
+                    nextY += line.getValueY(parent[i]);
+                }
+                nextX /= nextEnd - start - 2;
+                nextY /= nextEnd - start - 2;
+                int selectedIndex = parent[start];
+                float maxArea = -1;
+                for (int i = start; i < start + 2; ++i) {
+                    final int index = parent[i];
+                    final float area = Math.abs((previousX - nextX) * (line.getValueY(index) - previousY)
+                            - (previousX - line.getValueX(index)) * (nextY - previousY));
+                    if (area > maxArea) {
+                        maxArea = area;
+                        selectedIndex = index;
+                    }
+                }
+                indexes[(int) (bucket - first)] = selectedIndex;
+            }
+            levels.add(indexes);
+            parent = indexes;
+            parentFirst = first;
+        }
+        return levels;
+    }
+}
@@ -0,0 +1,171 @@
+package ir.mahdiparastesh.hellocharts.view;
+
+import static org.junit.Assert.assertEquals;
+
+import android.content.Context;
+import android.graphics.Canvas;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.GraphicsMode;
+
+import java.lang.management.ManagementFactory;
+
+import ir.mahdiparastesh.hellocharts.calculator.ChartCalculator;
+import ir.mahdiparastesh.hellocharts.gesture.ChartScroller;
+import ir.mahdiparastesh.hellocharts.gesture.ChartZoomer;
+import ir.mahdiparastesh.hellocharts.gesture.ZoomType;
+import ir.mahdiparastesh.hellocharts.model.Viewport;
+import ir.mahdiparastesh.hellocharts.renderer.ChartRenderer;
+
+/**
+ * Checks that drawing frames, checking touches and drawing frames of scroll and zoom don't allocate once chart was
+ * drawn a few times. Allocations are counted by
+ * {@link com.sun.management.ThreadMXBean#getThreadAllocatedBytes(long)} of the thread that draws.
+ */
+@RunWith(RobolectricTestRunner.class)
+@GraphicsMode(GraphicsMode.Mode.NATIVE)
+@Config(sdk = 34)
+public class ChartAllocationTest {
+    private static final int WARM_UP_FRAMES = 300;
+    private static final int FRAMES = 100;
+    private static final int ROUNDS = 3;
+    private static final int STEPS_PER_DIRECTION = 10;
+    private static final float SCROLL_STEP = 12;
+    private static final float ZOOM_STEP = 0.9f;
+    private static final float MAX_ZOOM_RATIO = 4;
+    private final Context context = RuntimeEnvironment.getApplication();
+
+    @Test
+    public void lineChart() {
+        final LineChartView chart = new LineChartView(context);
+        chart.setLineChartData(ChartTestData.lines(100_000));
+        assertSteadyStateDoesNotAllocate("line", chart, 10);
+    }
+
+    @Test
+    public void columnChart() {
+        final ColumnChartView chart = new ColumnChartView(context);
+        chart.setColumnChartData(ChartTestData.columns(1000));
+        assertSteadyStateDoesNotAllocate("column", chart, 10);
+    }
+
+    @Test
+    public void pieChart() {
+        final PieChartView chart = new PieChartView(context);
+        chart.setPieChartData(ChartTestData.slices(24));
+        assertSteadyStateDoesNotAllocate("pie", chart, 1);
+    }
+
+    @Test
+    public void bubbleChart() {
+        final BubbleChartView chart = new BubbleChartView(context);
+        chart.setBubbleChartData(ChartTestData.bubbles(300));
+        assertSteadyStateDoesNotAllocate("bubble", chart, 4);
+    }
+
+    @Test
+    public void comboLineColumnChart() {
+        final ComboLineColumnChartView chart = new ComboLineColumnChartView(context);
+        chart.setComboLineColumnChartData(ChartTestData.combo(200));
+        assertSteadyStateDoesNotAllocate("combo_line_column", chart, 4);
+    }
+
+    @Test
+    public void previewLineChart() {
+        final PreviewLineChartView chart = new PreviewLineChartView(context);
+        chart.setLineChartData(ChartTestData.lines(100_000));
+        assertSteadyStateDoesNotAllocate("preview_line", chart, 4);
+    }
+
+    @Test
+    public void previewColumnChart() {
+        final PreviewColumnChartView chart = new PreviewColumnChartView(context);
+        chart.setColumnChartData(ChartTestData.columns(1000));
+        assertSteadyStateDoesNotAllocate("preview_column", chart, 4);
+    }
+
+    /**
+     * Zooms chart to given level, then counts bytes allocated by drawing frames, checking touches in a grid of points,
+     * drawing frames while chart is scrolled and zoomed there and back and translating values with its calculator.
+     */
+    private static void assertSteadyStateDoesNotAllocate(String name, AbstractChartView chart, float zoom) {
+        // Zooming in has to be possible from given level too.
+        chart.setMaxZoom(zoom * MAX_ZOOM_RATIO);
+        final ChartFrames frames = new ChartFrames(chart);
+        chart.setCurrentViewport(ChartRenderingTest.zoomed(chart.getMaximumViewport(), 0.5f, zoom));
+        // View.draw() of Robolectric allocates by itself, so only the chart part of the frame is counted.
+        final Canvas canvas = new Canvas(frames.draw());
+        assertEquals(name + " draw", 0, countAllocatedBytes(() -> chart.onDraw(canvas)));
+
+        final ChartRenderer renderer = chart.getChartRenderer();
+        assertEquals(name + " checkTouch", 0, countAllocatedBytes(() -> {
+            for (int x = 0; x < ChartFrames.WIDTH; x += 40) {
+                for (int y = 0; y < ChartFrames.HEIGHT; y += 40) {
+                    renderer.checkTouch(x, y);
+                }
+            }
+        }));
+
+        // Gesture detectors belong to framework, so scroll and zoom they report are replayed on the chart calculator
+        // and every step is drawn, the same as after touch events. Direction changes every STEPS_PER_DIRECTION frames.
+        final ChartCalculator calculator = chart.getChartCalculator();
+        final Viewport viewport = new Viewport(calculator.getCurrentViewport());
+        final ChartScroller scroller = new ChartScroller(chart.getContext());
+        final ChartZoomer zoomer = new ChartZoomer(chart.getContext(), ZoomType.HORIZONTAL_AND_VERTICAL);
+        final ChartScroller.ScrollResult scrollResult = new ChartScroller.ScrollResult();
+        final int[] step = {0};
+        scroller.startScroll(calculator);
+        assertEquals(name + " scroll", 0, countAllocatedBytes(() -> {
+            final float distance = isForward(step[0]++) ? SCROLL_STEP : -SCROLL_STEP;
+            scroller.scroll(calculator, distance, distance / 2, scrollResult);
+            chart.onDraw(canvas);
+        }));
+        calculator.setCurrentViewport(viewport);
+        step[0] = 0;
+        assertEquals(name + " zoom", 0, countAllocatedBytes(() -> {
+            final float scale = isForward(step[0]++) ? ZOOM_STEP : 1 / ZOOM_STEP;
+            zoomer.scale(calculator, ChartFrames.WIDTH / 2f, ChartFrames.HEIGHT / 2f, scale);
+            chart.onDraw(canvas);
+        }));
+        calculator.setCurrentViewport(viewport);
+
+        final float[] points = new float[256];
+        assertEquals(name + " calculator", 0, countAllocatedBytes(() -> {
+            calculator.computeRawPoints(points, 0, points, points.length / 2);
+            calculator.setCurrentViewport(calculator.getCurrentViewport());
+        }));
+    }
+
+    private static boolean isForward(int step) {
+        return step / STEPS_PER_DIRECTION % 2 == 0;
+    }
+
+    /**
+     * Runs frame {@link #WARM_UP_FRAMES} times and returns the smallest number of bytes allocated by {@link #FRAMES}
+     * runs in {@link #ROUNDS} rounds. Frame that allocates allocates in every round, while one-off allocations of JIT
+     * compiler and of classes instrumented by Robolectric don't.
+     */
+    private static long countAllocatedBytes(Runnable frame) {
+        for (int i = 0; i < WARM_UP_FRAMES; ++i) {
+            frame.run();
+        }
+        final com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        final long threadId = Thread.currentThread().getId();
+        // The first call can allocate inside of the bean, so the counter is read once before measurement.
+        threads.getThreadAllocatedBytes(threadId);
+        long allocatedBytes = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; ++round) {
+            final long start = threads.getThreadAllocatedBytes(threadId);
+            for (int i = 0; i < FRAMES; ++i) {
+                frame.run();
+            }
+            allocatedBytes = Math.min(allocatedBytes, threads.getThreadAllocatedBytes(threadId) - start);
+        }
+        return allocatedBytes;
+    }
+}
@@ -0,0 +1,115 @@
+package ir.mahdiparastesh.hellocharts.view;
+
+import static org.junit.Assert.assertEquals;
+
+import android.content.Context;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.GraphicsMode;
+
+import ir.mahdiparastesh.hellocharts.model.Viewport;
+
+/**
+ * Draws scroll and zoom sequences of every chart type with large seeded data and prints durations of frames. Numbers
+ * are only comparable between runs on the same machine, so nothing is asserted about them.
+ */
+@RunWith(RobolectricTestRunner.class)
+@GraphicsMode(GraphicsMode.Mode.NATIVE)
+@Config(sdk = 34)
+public class ChartFrameTimingTest {
+    private static final int WARM_UP_FRAMES = 20;
+    private static final int FRAMES = 120;
+    private static final float MAX_ZOOM = 50;
+    private final Context context = RuntimeEnvironment.getApplication();
+
+    @Test
+    public void lineChart() {
+        final LineChartView chart = new LineChartView(context);
+        chart.setLineChartData(ChartTestData.lines(1_000_000));
+        scrollAndZoom("line", chart);
+    }
+
+    @Test
+    public void columnChart() {
+        final ColumnChartView chart = new ColumnChartView(context);
+        chart.setColumnChartData(ChartTestData.columns(10_000));
+        scrollAndZoom("column", chart);
+    }
+
+    @Test
+    public void bubbleChart() {
+        final BubbleChartView chart = new BubbleChartView(context);
+        chart.setBubbleChartData(ChartTestData.bubbles(20_000));
+        scrollAndZoom("bubble", chart);
+    }
+
+    @Test
+    public void comboLineColumnChart() {
+        final ComboLineColumnChartView chart = new ComboLineColumnChartView(context);
+        chart.setComboLineColumnChartData(ChartTestData.combo(10_000));
+        scrollAndZoom("combo_line_column", chart);
+    }
+
+    @Test
+    public void previewLineChart() {
+        final PreviewLineChartView chart = new PreviewLineChartView(context);
+        chart.setLineChartData(ChartTestData.lines(1_000_000));
+        scrollAndZoom("preview_line", chart);
+    }
+
+    @Test
+    public void previewColumnChart() {
+        final PreviewColumnChartView chart = new PreviewColumnChartView(context);
+        chart.setColumnChartData(ChartTestData.columns(10_000));
+        scrollAndZoom("preview_column", chart);
+    }
+
+    @Test
+    public void pieChartRotation() {
+        final PieChartView chart = new PieChartView(context);
+        chart.setPieChartData(ChartTestData.slices(200));
+        final ChartFrames frames = new ChartFrames(chart);
+        for (int frame = 0; frame < WARM_UP_FRAMES + FRAMES; ++frame) {
+            if (WARM_UP_FRAMES == frame) {
+                frames.clearDurations();
+            }
+            chart.setChartRotation(frame * 3, false);
+            frames.draw();
+        }
+        assertEquals(FRAMES, frames.getFramesCount());
+        System.out.println(frames.summarize("pie rotation"));
+    }
+
+    /**
+     * Zooms from the whole maximum viewport to its {@link #MAX_ZOOM} times smaller center, then scrolls that zoomed
+     * viewport from the left to the right edge, one viewport change per frame.
+     */
+    private static void scrollAndZoom(String name, AbstractChartView chart) {
+        chart.setMaxZoom(MAX_ZOOM);
+        final ChartFrames frames = new ChartFrames(chart);
+        final Viewport maxViewport = new Viewport(chart.getMaximumViewport());
+        for (int frame = 0; frame < WARM_UP_FRAMES + FRAMES; ++frame) {
+            if (WARM_UP_FRAMES == frame) {
+                frames.clearDurations();
+            }
+            final float zoom = (float) Math.pow(MAX_ZOOM, (float) frame / (WARM_UP_FRAMES + FRAMES - 1));
+            chart.setCurrentViewport(ChartRenderingTest.zoomed(maxViewport, 0.5f, zoom));
+            frames.draw();
+        }
+        System.out.println(frames.summarize(name + " zoom"));
+
+        final float halfWidth = 0.5f / MAX_ZOOM;
+        frames.clearDurations();
+        for (int frame = 0; frame < FRAMES; ++frame) {
+            final float center = halfWidth + (1 - 2 * halfWidth) * frame / (FRAMES - 1);
+            chart.setCurrentViewport(ChartRenderingTest.zoomed(maxViewport, center, MAX_ZOOM));
+            frames.draw();
+        }
+        assertEquals(maxViewport.right, chart.getCurrentViewport().right, maxViewport.width() * 0.001f);
+        System.out.println(frames.summarize(name + " scroll"));
+    }
+}
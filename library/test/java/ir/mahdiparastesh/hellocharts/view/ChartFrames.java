@@ -0,0 +1,72 @@
+package ir.mahdiparastesh.hellocharts.view;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.view.View;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Lays chart out at a fixed size and draws its frames into a bitmap the same way as a software rendered window,
+ * durations of drawn frames are kept so sequences of frames can be summarized.
+ */
+final class ChartFrames {
+    static final int WIDTH = 720;
+    static final int HEIGHT = 480;
+    private final View chart;
+    private final Bitmap bitmap = Bitmap.createBitmap(WIDTH, HEIGHT, Bitmap.Config.ARGB_8888);
+    private final Canvas canvas = new Canvas(bitmap);
+    private long[] durations = new long[64];
+    private int framesCount;
+
+    ChartFrames(View chart) {
+        this.chart = chart;
+        chart.measure(View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.EXACTLY));
+        chart.layout(0, 0, WIDTH, HEIGHT);
+    }
+
+    /**
+     * Draws one frame and returns bitmap with it, the same bitmap is reused for every frame.
+     */
+    Bitmap draw() {
+        bitmap.eraseColor(Color.WHITE);
+        final long startNanos = System.nanoTime();
+        chart.draw(canvas);
+        final long duration = System.nanoTime() - startNanos;
+        if (framesCount == durations.length) {
+            durations = Arrays.copyOf(durations, framesCount * 2);
+        }
+        durations[framesCount++] = duration;
+        return bitmap;
+    }
+
+    /**
+     * Forgets durations of frames drawn so far, used to drop warm up frames.
+     */
+    void clearDurations() {
+        framesCount = 0;
+    }
+
+    int getFramesCount() {
+        return framesCount;
+    }
+
+    /**
+     * Returns median, 95th percentile and maximum duration of frames drawn since the last
+     * {@link #clearDurations()}.
+     */
+    String summarize(String name) {
+        final long[] sorted = Arrays.copyOf(durations, framesCount);
+        Arrays.sort(sorted);
+        return String.format(Locale.ROOT, "%s: %d frames, median %.3f ms, p95 %.3f ms, max %.3f ms", name,
+                framesCount, percentile(sorted, 0.5f) / 1e6, percentile(sorted, 0.95f) / 1e6,
+                sorted[sorted.length - 1] / 1e6);
+    }
+
+    private static long percentile(long[] sorted, float percentile) {
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * percentile))];
+    }
+}
@@ -0,0 +1,97 @@
+package ir.mahdiparastesh.hellocharts.view;
+
+import android.content.Context;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.GraphicsMode;
+
+import java.io.IOException;
+
+import ir.mahdiparastesh.hellocharts.model.Viewport;
+
+/**
+ * Renders every chart type with seeded data at a fixed size and compares result with golden images, so faster drawing
+ * paths can be shown to give the same pixels. See {@link GoldenImages} for recording of goldens.
+ */
+@RunWith(RobolectricTestRunner.class)
+@GraphicsMode(GraphicsMode.Mode.NATIVE)
+@Config(sdk = 34)
+public class ChartRenderingTest {
+    private final Context context = RuntimeEnvironment.getApplication();
+
+    @Test
+    public void lineChart() throws IOException {
+        final LineChartView chart = new LineChartView(context);
+        chart.setLineChartData(ChartTestData.lines(100_000));
+        GoldenImages.verify("line", new ChartFrames(chart).draw());
+    }
+
+    @Test
+    public void lineChartZoomed() throws IOException {
+        final LineChartView chart = new LineChartView(context);
+        chart.setLineChartData(ChartTestData.lines(100_000));
+        chart.setMaxZoom(100);
+        final ChartFrames frames = new ChartFrames(chart);
+        chart.setCurrentViewport(zoomed(chart.getMaximumViewport(), 0.3f, 100));
+        GoldenImages.verify("line_zoomed", frames.draw());
+    }
+
+    @Test
+    public void columnChart() throws IOException {
+        final ColumnChartView chart = new ColumnChartView(context);
+        chart.setColumnChartData(ChartTestData.columns(1000));
+        GoldenImages.verify("column", new ChartFrames(chart).draw());
+    }
+
+    @Test
+    public void pieChart() throws IOException {
+        final PieChartView chart = new PieChartView(context);
+        chart.setPieChartData(ChartTestData.slices(24));
+        GoldenImages.verify("pie", new ChartFrames(chart).draw());
+    }
+
+    @Test
+    public void bubbleChart() throws IOException {
+        final BubbleChartView chart = new BubbleChartView(context);
+        chart.setBubbleChartData(ChartTestData.bubbles(300));
+        GoldenImages.verify("bubble", new ChartFrames(chart).draw());
+    }
+
+    @Test
+    public void comboLineColumnChart() throws IOException {
+        final ComboLineColumnChartView chart = new ComboLineColumnChartView(context);
+        chart.setComboLineColumnChartData(ChartTestData.combo(200));
+        GoldenImages.verify("combo_line_column", new ChartFrames(chart).draw());
+    }
+
+    @Test
+    public void previewLineChart() throws IOException {
+        final PreviewLineChartView chart = new PreviewLineChartView(context);
+        chart.setLineChartData(ChartTestData.lines(100_000));
+        final ChartFrames frames = new ChartFrames(chart);
+        chart.setCurrentViewport(zoomed(chart.getMaximumViewport(), 0.5f, 4));
+        GoldenImages.verify("preview_line", frames.draw());
+    }
+
+    @Test
+    public void previewColumnChart() throws IOException {
+        final PreviewColumnChartView chart = new PreviewColumnChartView(context);
+        chart.setColumnChartData(ChartTestData.columns(1000));
+        final ChartFrames frames = new ChartFrames(chart);
+        chart.setCurrentViewport(zoomed(chart.getMaximumViewport(), 0.5f, 4));
+        GoldenImages.verify("preview_column", frames.draw());
+    }
+
+    /**
+     * Returns part of given viewport with width divided by zoom, its center is at given fraction of viewport width.
+     */
+    static Viewport zoomed(Viewport viewport, float centerFraction, float zoom) {
+        final float width = viewport.width() / zoom;
+        final float left = viewport.left + viewport.width() * centerFraction - width / 2;
+        return new Viewport(left, viewport.top, left + width, viewport.bottom);
+    }
+}
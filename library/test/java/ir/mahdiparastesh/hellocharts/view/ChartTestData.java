@@ -0,0 +1,116 @@
+package ir.mahdiparastesh.hellocharts.view;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import ir.mahdiparastesh.hellocharts.model.Axis;
+import ir.mahdiparastesh.hellocharts.model.BubbleChartData;
+import ir.mahdiparastesh.hellocharts.model.BubbleValue;
+import ir.mahdiparastesh.hellocharts.model.ChartData;
+import ir.mahdiparastesh.hellocharts.model.ColumnChartData;
+import ir.mahdiparastesh.hellocharts.model.ColumnMatrix;
+import ir.mahdiparastesh.hellocharts.model.ComboLineColumnChartData;
+import ir.mahdiparastesh.hellocharts.model.Line;
+import ir.mahdiparastesh.hellocharts.model.LineChartData;
+import ir.mahdiparastesh.hellocharts.model.PieChartData;
+import ir.mahdiparastesh.hellocharts.model.PointSeries;
+import ir.mahdiparastesh.hellocharts.model.SliceValue;
+import ir.mahdiparastesh.hellocharts.model.ValueShape;
+import ir.mahdiparastesh.hellocharts.util.ChartUtils;
+
+/**
+ * Seeded data sets of every chart type, the same size always gives the same data so rendered images can be compared
+ * with golden images.
+ */
+final class ChartTestData {
+    static final long SEED = 0x4845_4C4C_4FL;
+
+    private ChartTestData() {
+    }
+
+    /**
+     * Returns random walk with pointsCount points sorted by X, a cubic filled line and a line of diamond points, all
+     * of them spread over the same X range.
+     */
+    static LineChartData lines(int pointsCount) {
+        final Random random = new Random(SEED);
+        final List<Line> lines = new ArrayList<>();
+        lines.add(new Line(randomWalk(random, pointsCount, 1)).setColor(ChartUtils.COLOR_BLUE).setHasPoints(false)
+                .setStrokeWidth(1));
+        lines.add(new Line(randomWalk(random, 200, pointsCount / 200f)).setColor(ChartUtils.COLOR_GREEN).setCubic(true).setFilled(true)
+                .setHasPoints(false));
+        lines.add(new Line(randomWalk(random, 50, pointsCount / 50f)).setColor(ChartUtils.COLOR_ORANGE).setHasLines(false)
+                .setShape(ValueShape.DIAMOND));
+        final LineChartData data = new LineChartData(lines);
+        setAxes(data);
+        return data;
+    }
+
+    static ColumnChartData columns(int columnsCount) {
+        final Random random = new Random(SEED);
+        final ColumnMatrix matrix = new ColumnMatrix(columnsCount, 3);
+        for (int column = 0; column < columnsCount; ++column) {
+            for (int series = 0; series < 3; ++series) {
+                matrix.setValue(column, series, random.nextFloat() * 100 - 20);
+            }
+        }
+        matrix.setSeriesColor(0, ChartUtils.COLOR_BLUE);
+        matrix.setSeriesColor(1, ChartUtils.COLOR_VIOLET);
+        matrix.setSeriesColor(2, ChartUtils.COLOR_RED);
+        final ColumnChartData data = new ColumnChartData().setMatrix(matrix).setStacked(true);
+        setAxes(data);
+        return data;
+    }
+
+    static PieChartData slices(int slicesCount) {
+        final Random random = new Random(SEED);
+        final List<SliceValue> values = new ArrayList<>(slicesCount);
+        for (int i = 0; i < slicesCount; ++i) {
+            values.add(new SliceValue(1 + random.nextFloat() * 10, ChartUtils.COLORS[i % ChartUtils.COLORS.length]));
+        }
+        return new PieChartData(values).setHasLabels(true).setHasCenterCircle(true);
+    }
+
+    static BubbleChartData bubbles(int bubblesCount) {
+        final Random random = new Random(SEED);
+        final List<BubbleValue> values = new ArrayList<>(bubblesCount);
+        for (int i = 0; i < bubblesCount; ++i) {
+            // Most bubbles are small so big ones don't cover them all.
+            final float z = (float) Math.pow(random.nextFloat(), 4) * 50;
+            values.add(new BubbleValue(random.nextFloat() * 1000, random.nextFloat() * 1000, z,
+                    ChartUtils.COLORS[i % ChartUtils.COLORS.length]));
+        }
+        final BubbleChartData data = new BubbleChartData(values);
+        setAxes(data);
+        return data;
+    }
+
+    static ComboLineColumnChartData combo(int columnsCount) {
+        final Random random = new Random(SEED);
+        final ColumnChartData columnData = columns(columnsCount);
+        final List<Line> lines = new ArrayList<>();
+        lines.add(new Line(randomWalk(random, columnsCount, 1)).setColor(ChartUtils.COLOR_GREEN).setCubic(true));
+        final ComboLineColumnChartData data = new ComboLineColumnChartData(columnData, new LineChartData(lines));
+        setAxes(data);
+        return data;
+    }
+
+    /**
+     * Returns series with X values 0, xStep, 2 * xStep... and Y values of random walk.
+     */
+    private static PointSeries randomWalk(Random random, int pointsCount, float xStep) {
+        final PointSeries series = new PointSeries(pointsCount);
+        float y = 0;
+        for (int i = 0; i < pointsCount; ++i) {
+            y += random.nextFloat() * 2 - 1;
+            series.add(i * xStep, y);
+        }
+        return series;
+    }
+
+    private static void setAxes(ChartData data) {
+        data.setAxisXBottom(new Axis().setHasLines(true));
+        data.setAxisYLeft(new Axis().setHasLines(true));
+    }
+}
@@ -0,0 +1,86 @@
+package ir.mahdiparastesh.hellocharts.view;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.Color;
+
+import org.junit.Assume;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+/**
+ * Compares rendered charts with golden images. When system property {@link #RECORD_PROPERTY} is true images are
+ * written as new goldens instead, run {@code ./gradlew :library:testDebugUnitTest -Phellocharts.recordGoldens=true}
+ * and commit the images after checking them. Tests without a golden image are skipped.
+ */
+final class GoldenImages {
+    static final String RECORD_PROPERTY = "hellocharts.recordGoldens";
+    static final String DIRECTORY_PROPERTY = "hellocharts.goldensDir";
+    static final String FAILURES_DIRECTORY_PROPERTY = "hellocharts.goldenFailuresDir";
+    /**
+     * Anti-aliased edges and text can differ a little between platforms of native graphics, so a pixel matches when
+     * none of its channels differs by more than this, and an image matches when only few pixels don't match.
+     */
+    private static final int MAX_CHANNEL_DIFFERENCE = 8;
+    private static final float MAX_MISMATCHED_PIXELS_RATIO = 0.002f;
+
+    private GoldenImages() {
+    }
+
+    static void verify(String name, Bitmap bitmap) throws IOException {
+        final File golden = new File(System.getProperty(DIRECTORY_PROPERTY, "test/goldens"), name + ".png");
+        if (Boolean.getBoolean(RECORD_PROPERTY)) {
+            write(bitmap, golden);
+            return;
+        }
+        Assume.assumeTrue("No golden image " + golden + ", record it with -P" + RECORD_PROPERTY + "=true",
+                golden.isFile());
+
+        final Bitmap expected = BitmapFactory.decodeFile(golden.getPath());
+        assertEquals(name + " width", expected.getWidth(), bitmap.getWidth());
+        assertEquals(name + " height", expected.getHeight(), bitmap.getHeight());
+        final int[] expectedPixels = pixels(expected);
+        final int[] actualPixels = pixels(bitmap);
+        int mismatchedCount = 0;
+        for (int i = 0; i < actualPixels.length; ++i) {
+            if (!matches(expectedPixels[i], actualPixels[i])) {
+                ++mismatchedCount;
+            }
+        }
+        if (mismatchedCount > actualPixels.length * MAX_MISMATCHED_PIXELS_RATIO) {
+            final File actual = new File(System.getProperty(FAILURES_DIRECTORY_PROPERTY, "build/goldens"),
+                    name + ".png");
+            write(bitmap, actual);
+            fail(name + ": " + mismatchedCount + " of " + actualPixels.length + " pixels differ from " + golden
+                    + ", rendered image is " + actual);
+        }
+    }
+
+    private static boolean matches(int expected, int actual) {
+        return Math.abs(Color.alpha(expected) - Color.alpha(actual)) <= MAX_CHANNEL_DIFFERENCE
+                && Math.abs(Color.red(expected) - Color.red(actual)) <= MAX_CHANNEL_DIFFERENCE
+                && Math.abs(Color.green(expected) - Color.green(actual)) <= MAX_CHANNEL_DIFFERENCE
+                && Math.abs(Color.blue(expected) - Color.blue(actual)) <= MAX_CHANNEL_DIFFERENCE;
+    }
+
+    private static int[] pixels(Bitmap bitmap) {
+        final int[] pixels = new int[bitmap.getWidth() * bitmap.getHeight()];
+        bitmap.getPixels(pixels, 0, bitmap.getWidth(), 0, 0, bitmap.getWidth(), bitmap.getHeight());
+        return pixels;
+    }
+
+    private static void write(Bitmap bitmap, File file) throws IOException {
+        final File directory = file.getParentFile();
+        if (null != directory && !directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Can't create directory " + directory);
+        }
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            bitmap.compress(Bitmap.CompressFormat.PNG, 100, out);
+        }
+    }
+}
@@ -13,4 +13,4 @@ dependencyResolutionManagement {
     }
 }
 rootProject.name = "HelloCharts"
-include(":library", ":samples")
+include(":library", ":samples", ":benchmark")